@@ -0,0 +1,407 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * <p>Aho-Corasick automaton, searching many patterns (signatures, keywords...) in a single pass over an array, a ByteBuffer or an
+ * InputStream, instead of one pass per pattern.</p>
+ * <p>The automaton is a DFA whose transitions are stored in a single dense table, one row per state : bytes that do not appear in any
+ * pattern share one column of the table, so its size is <code>(number of states) * (number of distinct bytes in the patterns + 1)</code>
+ * ints, the number of states being at most the total length of the patterns + 1. Each byte of the input then costs a single lookup.</p>
+ * <p>Two kinds of matches can be reported, see {@link MatchKind}. The matches are given to a {@link MatchHandler} with the id of the
+ * pattern (its index in the list given to {@link #compile(List, MatchKind)}) and the position of its first byte.</p>
+ * <p>Instances are immutable and can be shared between threads.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class AhoCorasick {
+
+    /** minimum size of the chunks read from streams and from the buffers that do not have an accessible array */
+    private static final int MINIMUM_CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Kinds of matches reported by the search methods.
+     */
+    public enum MatchKind {
+
+        /** every occurence of every pattern is reported (including the ones overlapping each other), in the order of their last byte */
+        OVERLAPPING,
+
+        /**
+         * <p>the occurences do not overlap : the one starting first is reported, the longest one if several patterns start at the same
+         * position (the lowest id if several patterns are equal), and the search goes on after its last byte, like a regular expression
+         * alternation with POSIX semantics.</p>
+         * <p>A match is only reported once no longer or earlier one can be found, which may need up to the length of the longest pattern of
+         * look-ahead.</p>
+         */
+        LEFTMOST_LONGEST
+    }
+
+    /**
+     * Receives the matches found by the search methods.
+     */
+    @FunctionalInterface
+    public interface MatchHandler {
+
+        /**
+         * @param patternId the index of the pattern in the list given to {@link AhoCorasick#compile(List, MatchKind)}
+         * @param start the position of the first byte of the match
+         * @return true to go on with the search, false to stop it
+         */
+        boolean onMatch(int patternId, long start);
+    }
+
+    /**
+     * Source of the chunks of a stream or of a buffer without accessible array.
+     */
+    @FunctionalInterface
+    private interface ChunkReader {
+
+        int read(byte[] buffer, int offset, int length) throws IOException;
+    }
+
+    private final MatchKind matchKind;
+    private final int[] patternLengths;
+    private final int maximumPatternLength;
+    /** class (column of the transition table) of each byte */
+    private final int[] byteClasses = new int[256];
+    private final int classCount;
+    /** next state for each state and class, at index <code>state * classCount + class</code> */
+    private final int[] transitions;
+    /** length of the longest suffix of the input that is a prefix of a pattern, for each state */
+    private final int[] depths;
+    /** lowest id of the pattern ending at each state, -1 if none */
+    private final int[] statePatterns;
+    /** next pattern id equal to each pattern, -1 if none */
+    private final int[] duplicatePatterns;
+    /** longest state (with a pattern) that is a suffix of each state, the state itself if it has a pattern, -1 if none */
+    private final int[] matchStates;
+    /** longest state with a pattern that is a proper suffix of each state, -1 if none */
+    private final int[] outputLinks;
+
+    private AhoCorasick(List<byte[]> patterns, MatchKind matchKind) {
+        this.matchKind = matchKind;
+        int patternCount = patterns.size();
+        patternLengths = new int[patternCount];
+        boolean[] usedBytes = new boolean[256];
+        long maximumStateCount = 1;
+        int longest = 0;
+        for (int patternId = 0; patternId < patternCount; patternId++) {
+            byte[] pattern = patterns.get(patternId);
+            if (pattern.length == 0) {
+                throw new IllegalArgumentException("pattern " + patternId + " is empty");
+            }
+            patternLengths[patternId] = pattern.length;
+            longest = Math.max(longest, pattern.length);
+            maximumStateCount += pattern.length;
+            for (byte value : pattern) {
+                usedBytes[value & 0xFF] = true;
+            }
+        }
+        maximumPatternLength = longest;
+        int usedClassCount = 1;
+        for (int value = 0; value < 256; value++) {
+            if (usedBytes[value]) {
+                byteClasses[value] = usedClassCount++;
+            }
+        }
+        classCount = usedClassCount;
+        if (maximumStateCount * classCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("the patterns are too long for the transition table");
+        }
+
+        // trie of the patterns, a zero transition meaning no child (no trie edge goes to the root)
+        int[] trie = new int[(int) maximumStateCount * classCount];
+        int[] stateDepths = new int[(int) maximumStateCount];
+        int[] patternsOfStates = new int[(int) maximumStateCount];
+        Arrays.fill(patternsOfStates, -1);
+        duplicatePatterns = new int[patternCount];
+        Arrays.fill(duplicatePatterns, -1);
+        int stateCount = 1;
+        for (int patternId = 0; patternId < patternCount; patternId++) {
+            int state = 0;
+            for (byte value : patterns.get(patternId)) {
+                int index = state * classCount + byteClasses[value & 0xFF];
+                if (trie[index] == 0) {
+                    stateDepths[stateCount] = stateDepths[state] + 1;
+                    trie[index] = stateCount++;
+                }
+                state = trie[index];
+            }
+            if (patternsOfStates[state] < 0) {
+                patternsOfStates[state] = patternId;
+            } else {
+                int last = patternsOfStates[state];
+                while (duplicatePatterns[last] >= 0) {
+                    last = duplicatePatterns[last];
+                }
+                duplicatePatterns[last] = patternId;
+            }
+        }
+        transitions = Arrays.copyOf(trie, stateCount * classCount);
+        depths = Arrays.copyOf(stateDepths, stateCount);
+        statePatterns = Arrays.copyOf(patternsOfStates, stateCount);
+        matchStates = new int[stateCount];
+        outputLinks = new int[stateCount];
+        buildFailureTransitions(stateCount);
+    }
+
+    /**
+     * Replaces the missing transitions of the trie by the ones of the failure states (longest proper suffix that is a state), visiting
+     * the states in breadth first order so that the rows of the failure states are complete when they are used.
+     */
+    private void buildFailureTransitions(int stateCount) {
+        int[] failures = new int[stateCount];
+        int[] queue = new int[stateCount];
+        int queueStart = 0;
+        int queueEnd = 0;
+        queue[queueEnd++] = 0;
+        outputLinks[0] = -1;
+        matchStates[0] = -1;
+        while (queueStart < queueEnd) {
+            int state = queue[queueStart++];
+            int row = state * classCount;
+            int failureRow = failures[state] * classCount;
+            for (int byteClass = 0; byteClass < classCount; byteClass++) {
+                int child = transitions[row + byteClass];
+                if (child == 0) {
+                    // missing transition of the root : stay on the root
+                    transitions[row + byteClass] = (state == 0) ? 0 : transitions[failureRow + byteClass];
+                    continue;
+                }
+                int failure = (state == 0) ? 0 : transitions[failureRow + byteClass];
+                failures[child] = failure;
+                outputLinks[child] = (statePatterns[failure] >= 0) ? failure : outputLinks[failure];
+                matchStates[child] = (statePatterns[child] >= 0) ? child : outputLinks[child];
+                queue[queueEnd++] = child;
+            }
+        }
+    }
+
+    /**
+     * Compiles patterns (which are not kept, so they can be modified afterwards).
+     *
+     * @param patterns the patterns, identified by their index in the list in the matches
+     * @param matchKind the kind of matches reported by the search methods
+     * @throws IllegalArgumentException if one of the patterns is empty, or if the patterns are too long
+     */
+    public static AhoCorasick compile(List<byte[]> patterns, MatchKind matchKind) {
+        return new AhoCorasick(patterns, matchKind);
+    }
+
+    public MatchKind matchKind() {
+        return matchKind;
+    }
+
+    public int patternCount() {
+        return patternLengths.length;
+    }
+
+    /**
+     * Returns the length of a pattern (to compute the end of its matches).
+     */
+    public int patternLength(int patternId) {
+        return patternLengths[patternId];
+    }
+
+    /**
+     * Checks if an array contains any of the patterns, stopping at the first match.
+     */
+    public boolean containsAny(byte[] array) {
+        boolean[] found = { false };
+        search(array, 0, array.length, (patternId, start) -> {
+            found[0] = true;
+            return false;
+        });
+        return found[0];
+    }
+
+    /**
+     * Searches the patterns in an array, the positions of the matches being indexes in the array.
+     */
+    public void search(byte[] array, MatchHandler handler) {
+        search(array, 0, array.length, handler);
+    }
+
+    /**
+     * Searches the patterns in the range [fromIndex, toIndex[ of an array, the positions of the matches being indexes in the array.
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public void search(byte[] array, int fromIndex, int toIndex, MatchHandler handler) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        if (matchKind == MatchKind.OVERLAPPING) {
+            searchOverlapping(array, fromIndex, toIndex, 0, 0, handler);
+        } else {
+            searchLeftmostLongest(array, fromIndex, toIndex, true, 0, handler);
+        }
+    }
+
+    /**
+     * Searches the patterns in the remaining bytes of a buffer (without changing its position), the positions of the matches being
+     * absolute indexes in the buffer.
+     */
+    public void search(ByteBuffer buffer, MatchHandler handler) {
+        if (buffer.hasArray()) {
+            int arrayOffset = buffer.arrayOffset();
+            int fromIndex = arrayOffset + buffer.position();
+            int toIndex = arrayOffset + buffer.limit();
+            if (matchKind == MatchKind.OVERLAPPING) {
+                searchOverlapping(buffer.array(), fromIndex, toIndex, 0, -arrayOffset, handler);
+            } else {
+                searchLeftmostLongest(buffer.array(), fromIndex, toIndex, true, -arrayOffset, handler);
+            }
+            return;
+        }
+        ByteBuffer chunks = buffer.duplicate();
+        try {
+            searchChunks((chunk, offset, length) -> {
+                int count = Math.min(length, chunks.remaining());
+                chunks.get(chunk, offset, count);
+                return (count == 0) ? -1 : count;
+            }, buffer.position(), handler);
+        } catch (IOException exception) {
+            // not thrown by ByteBuffer
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Searches the patterns in the bytes read from a stream (until its end, or until the handler stops the search), the positions of the
+     * matches being counted from the first byte read. The stream is read by chunks of bounded size, and is not closed.
+     */
+    public void search(InputStream input, MatchHandler handler) throws IOException {
+        searchChunks(input::read, 0, handler);
+    }
+
+    private void searchChunks(ChunkReader reader, long firstPosition, MatchHandler handler) throws IOException {
+        byte[] chunk = new byte[Math.max(MINIMUM_CHUNK_SIZE, 4 * maximumPatternLength)];
+        // position in the input of the first byte of the chunk
+        long chunkPosition = firstPosition;
+        // bytes kept at the beginning of the chunk from the previous one (for a match that is not complete yet)
+        int keptCount = 0;
+        int state = 0;
+        while (true) {
+            int count;
+            do {
+                count = reader.read(chunk, keptCount, chunk.length - keptCount);
+            } while (count == 0);
+            boolean last = (count < 0);
+            int chunkEnd = keptCount + Math.max(count, 0);
+            if (matchKind == MatchKind.OVERLAPPING) {
+                state = searchOverlapping(chunk, 0, chunkEnd, state, chunkPosition, handler);
+                if ((state < 0) || last) {
+                    return;
+                }
+                chunkPosition += chunkEnd;
+                continue;
+            }
+            int keepIndex = searchLeftmostLongest(chunk, 0, chunkEnd, last, chunkPosition, handler);
+            if ((keepIndex < 0) || last) {
+                return;
+            }
+            keptCount = chunkEnd - keepIndex;
+            System.arraycopy(chunk, keepIndex, chunk, 0, keptCount);
+            chunkPosition += keepIndex;
+        }
+    }
+
+    /**
+     * Reports all the matches ending in the range.
+     *
+     * @param state the state at the beginning of the range (the root, or the state at the end of the previous chunk)
+     * @param positionOffset added to the indexes in the array to get the positions reported
+     * @return the state at the end of the range, or -1 if the handler stopped the search
+     */
+    private int searchOverlapping(byte[] array, int fromIndex, int toIndex, int state, long positionOffset, MatchHandler handler) {
+        for (int index = fromIndex; index < toIndex; index++) {
+            state = transitions[state * classCount + byteClasses[array[index] & 0xFF]];
+            for (int matchState = matchStates[state]; matchState >= 0; matchState = outputLinks[matchState]) {
+                for (int patternId = statePatterns[matchState]; patternId >= 0; patternId = duplicatePatterns[patternId]) {
+                    if (!handler.onMatch(patternId, positionOffset + index - patternLengths[patternId] + 1)) {
+                        return -1;
+                    }
+                }
+            }
+        }
+        return state;
+    }
+
+    /**
+     * <p>Reports the leftmost longest matches of the range. The best match found so far is only reported once no match in progress
+     * can start at or before it, the search then starts again from the root after its last byte.</p>
+     * <p>If the range is not the last one of the input, the bytes of the last match in progress are not searched : they must be given
+     * again at the beginning of the next range.</p>
+     *
+     * @param last true if the range is the end of the input
+     * @param positionOffset added to the indexes in the array to get the positions reported
+     * @return the index of the first byte to give again with the next range (toIndex if none), or -1 if the handler stopped the search
+     */
+    private int searchLeftmostLongest(byte[] array, int fromIndex, int toIndex, boolean last, long positionOffset, MatchHandler handler) {
+        int state = 0;
+        int index = fromIndex;
+        int candidate = -1;
+        int candidateStart = 0;
+        while (true) {
+            for (; index < toIndex; index++) {
+                state = transitions[state * classCount + byteClasses[array[index] & 0xFF]];
+                int matchState = matchStates[state];
+                if (matchState >= 0) {
+                    // the longest match ending here is the leftmost one, and it is longer than the candidate if it starts at the same position
+                    int patternId = statePatterns[matchState];
+                    int start = index - patternLengths[patternId] + 1;
+                    if ((candidate < 0) || (start <= candidateStart)) {
+                        candidate = patternId;
+                        candidateStart = start;
+                    }
+                }
+                if ((candidate >= 0) && (index - depths[state] + 1 > candidateStart)) {
+                    if (!handler.onMatch(candidate, positionOffset + candidateStart)) {
+                        return -1;
+                    }
+                    index = candidateStart + patternLengths[candidate] - 1;
+                    state = 0;
+                    candidate = -1;
+                }
+            }
+            if (candidate < 0) {
+                return last ? toIndex : toIndex - depths[state];
+            }
+            if (!last) {
+                // the match in progress may start before the candidate
+                return Math.min(candidateStart, toIndex - depths[state]);
+            }
+            // end of the input : nothing can be better than the candidate
+            if (!handler.onMatch(candidate, positionOffset + candidateStart)) {
+                return -1;
+            }
+            index = candidateStart + patternLengths[candidate];
+            state = 0;
+            candidate = -1;
+        }
+    }
+}
\ No newline at end of file
@@ -17,10 +17,15 @@
 
 package org.devtoolbox.util.array;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -32,8 +37,38 @@ import java.util.stream.IntStream;
  */
 public class ArrayTools {
 
+    /** Comparator ordering byte arrays like {@link #compareUnsigned(byte[], byte[])}. */
+    public static final Comparator<byte[]> UNSIGNED_COMPARATOR = ArrayTools::compareUnsigned;
+
+    /** minimum number of characters decoded by each task of {@link #parallelHexToArray(CharSequence)} */
+    private static final int PARALLEL_HEX_MINIMUM_CHUNK_SIZE = 1 << 18;
+
+    /** compiled needles used by the byte[] needle searches and splits, null to compile them on each call */
+    private static volatile ByteSearcherCache searcherCache = null;
+
+    /**
+     * <p>Sets the cache of compiled needles used by the byte[] needle searches ({@link #indexOf(byte[], byte[], int)},
+     * {@link #lastIndexOf(byte[], byte[], int)}, the indexOfFirst / indexOfLast methods using them) and by
+     * {@link #split(byte[], byte[])}.</p>
+     * <p>There is no cache by default : it pays off when the same needles are searched again and again, its metrics (hit rate) tell if
+     * it is the case.</p>
+     *
+     * @param cache the cache to use, null to stop using one
+     */
+    public static void setSearcherCache(ByteSearcherCache cache) {
+        searcherCache = cache;
+    }
+
+    /**
+     * Returns the cache of compiled needles used by the byte[] needle searches, or null if none is used.
+     */
+    public static ByteSearcherCache getSearcherCache() {
+        return searcherCache;
+    }
+
     /**
      * Converts a hexadecimal String of size 1 or 2 to a byte.
+     * The digits accepted are the same as for {@link #hexToArray(String)}.
      *
      * @throws NullPointerException if input string is null
      * @throws IllegalArgumentException if the size of the input String is not 1 or 2
@@ -44,39 +79,411 @@ public class ArrayTools {
         if ((length == 0) || (length > 2)) {
             throw new IllegalArgumentException("the size of the input String must be 1 or 2");
         }
-        return internalHexToByte(length == 1 ? '0' + inputString : inputString);
+        if (length == 1) {
+            int value = HexCodec.digit(inputString.charAt(0));
+            if (value < 0) {
+                throw HexCodec.invalidCharacter(inputString, 0);
+            }
+            return (byte) value;
+        }
+        return internalHexToByte(inputString);
     }
 
     protected static byte internalHexToByte(String inputString) {
-        return (byte) Integer.parseInt(inputString, 16);
+        int high = HexCodec.digit(inputString.charAt(0));
+        int low = HexCodec.digit(inputString.charAt(1));
+        if (high < 0) {
+            throw HexCodec.invalidCharacter(inputString, 0);
+        }
+        if (low < 0) {
+            throw HexCodec.invalidCharacter(inputString, 1);
+        }
+        return (byte) ((high << 4) | low);
     }
 
     /**
      * Converts a String containing hexadecimal to a byte array.
      * The input string can contain whitespaces (spaces, tabs, newlines), they will be removed.
      * Any leading zeros will be removed.
+     * Only the ASCII digits and letters (0-9, a-f, A-F) are accepted : signs and the other Unicode digits (such as U+0660, ARABIC-INDIC
+     * DIGIT ZERO) are invalid characters.
      * 
      * @throws NumberFormatException if the input String is not a valid hexadecimal value
      */
     public static byte[] hexToArray(String hexString) {
-        String normalizedString = hexString.replace(" ", "").replace("\t", "").replace("\n", "").replace("\r", "");
-        normalizedString = ((normalizedString.length() % 2) == 1) ? "0" + normalizedString : normalizedString;
-        final int length = normalizedString.length() / 2;
-        final String finalString = normalizedString;
+        return hexToArray((CharSequence) hexString);
+    }
+
+    /**
+     * Converts a CharSequence containing hexadecimal to a byte array, without converting it to a String first.
+     * The input can contain whitespaces (spaces, tabs, newlines), they will be removed.
+     * If the number of digits is odd, the first one is used as the low nibble of the first byte.
+     * The digits accepted are the same as for {@link #hexToArray(String)}.
+     *
+     * @throws NumberFormatException if the input is not a valid hexadecimal value
+     */
+    public static byte[] hexToArray(CharSequence hexString) {
+        // first pass to validate the input and compute the size of the result, second one to decode
+        int length = hexString.length();
+        int digitCount = HexCodec.countDigits(hexString, 0, length);
+        if (digitCount < 0) {
+            throw HexCodec.invalidCharacter(hexString, -digitCount - 1);
+        }
+        byte[] result = new byte[(digitCount + 1) / 2];
+        HexCodec.decode(hexString, 0, length, digitCount, result, 0);
+        return result;
+    }
+
+    /**
+     * <p>Same as {@link #hexToArray(CharSequence)}, but decodes large inputs in parallel in the common fork-join pool.</p>
+     * <p>The input is split in chunks, the digits of each chunk are counted in parallel to know where its bytes go in the result, then
+     * the chunks are decoded in parallel. Inputs smaller than a few hundred KB are decoded sequentially.</p>
+     *
+     * @throws NumberFormatException if the input is not a valid hexadecimal value (the first invalid character is reported)
+     */
+    public static byte[] parallelHexToArray(CharSequence hexString) {
+        int length = hexString.length();
+        int chunkCount = Math.min(length / PARALLEL_HEX_MINIMUM_CHUNK_SIZE, ForkJoinPool.getCommonPoolParallelism() * 4);
+        if (chunkCount < 2) {
+            return hexToArray(hexString);
+        }
+        int[] chunkStarts = new int[chunkCount + 1];
+        IntStream.rangeClosed(0, chunkCount).forEach(chunk -> chunkStarts[chunk] = (int) ((long) length * chunk / chunkCount));
+
+        // count the digits of each chunk, the first invalid character being in the first chunk with a negative count
+        int[] digitCounts = new int[chunkCount];
+        IntStream.range(0, chunkCount).parallel()
+            .forEach(chunk -> digitCounts[chunk] = HexCodec.countDigits(hexString, chunkStarts[chunk], chunkStarts[chunk + 1]));
+        int digitCount = 0;
+        for (int count : digitCounts) {
+            if (count < 0) {
+                throw HexCodec.invalidCharacter(hexString, -count - 1);
+            }
+            digitCount += count;
+        }
 
-        byte[] result = new byte[length];
-        IntStream.range(0, length).forEach(index -> result[index] = internalHexToByte(finalString.substring(index * 2, index * 2 + 2)));
+        boolean padded = (digitCount % 2) == 1;
+        int[] firstDigitIndexes = new int[chunkCount];
+        firstDigitIndexes[0] = padded ? 1 : 0;
+        for (int chunk = 1; chunk < chunkCount; chunk++) {
+            firstDigitIndexes[chunk] = firstDigitIndexes[chunk - 1] + digitCounts[chunk - 1];
+        }
+        byte[] result = new byte[(digitCount + 1) / 2];
+        IntStream.range(0, chunkCount).parallel()
+            .forEach(chunk -> HexCodec.decodeChunk(hexString, chunkStarts[chunk], chunkStarts[chunk + 1], firstDigitIndexes[chunk], padded, result));
         return result;
     }
 
+    /**
+     * Decodes a CharSequence containing hexadecimal into an existing array.
+     * The input is handled like in {@link #hexToArray(CharSequence)}.
+     *
+     * @param hexString the hexadecimal characters
+     * @param destination the array receiving the decoded bytes
+     * @param destinationOffset index of the first byte to write
+     * @return the number of bytes written
+     * @throws NumberFormatException if the input is not a valid hexadecimal value (nothing is written in that case)
+     * @throws IndexOutOfBoundsException if the decoded bytes do not fit in the destination array
+     */
+    public static int hexToArray(CharSequence hexString, byte[] destination, int destinationOffset) {
+        int length = hexString.length();
+        int digitCount = HexCodec.countDigits(hexString, 0, length);
+        if (digitCount < 0) {
+            throw HexCodec.invalidCharacter(hexString, -digitCount - 1);
+        }
+        Objects.checkFromIndexSize(destinationOffset, (digitCount + 1) / 2, destination.length);
+        return HexCodec.decode(hexString, 0, length, digitCount, destination, destinationOffset);
+    }
+
+    /**
+     * Converts a range of a char array containing hexadecimal to a byte array.
+     * The input is handled like in {@link #hexToArray(CharSequence)}.
+     *
+     * @param characters the array containing the hexadecimal characters
+     * @param offset index of the first character to decode
+     * @param length number of characters to decode
+     * @throws NumberFormatException if the input is not a valid hexadecimal value
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static byte[] hexToArray(char[] characters, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, characters.length);
+        int digitCount = HexCodec.countDigits(characters, offset, offset + length);
+        if (digitCount < 0) {
+            throw HexCodec.invalidCharacter(characters[-digitCount - 1], -digitCount - 1);
+        }
+        byte[] result = new byte[(digitCount + 1) / 2];
+        HexCodec.decode(characters, offset, offset + length, digitCount, result, 0);
+        return result;
+    }
+
+    /**
+     * Decodes a range of a char array containing hexadecimal into an existing array.
+     * The input is handled like in {@link #hexToArray(CharSequence)}.
+     *
+     * @param characters the array containing the hexadecimal characters
+     * @param offset index of the first character to decode
+     * @param length number of characters to decode
+     * @param destination the array receiving the decoded bytes
+     * @param destinationOffset index of the first byte to write
+     * @return the number of bytes written
+     * @throws NumberFormatException if the input is not a valid hexadecimal value (nothing is written in that case)
+     * @throws IndexOutOfBoundsException if the range is not within the array, or if the decoded bytes do not fit in the destination array
+     */
+    public static int hexToArray(char[] characters, int offset, int length, byte[] destination, int destinationOffset) {
+        Objects.checkFromIndexSize(offset, length, characters.length);
+        int digitCount = HexCodec.countDigits(characters, offset, offset + length);
+        if (digitCount < 0) {
+            throw HexCodec.invalidCharacter(characters[-digitCount - 1], -digitCount - 1);
+        }
+        Objects.checkFromIndexSize(destinationOffset, (digitCount + 1) / 2, destination.length);
+        return HexCodec.decode(characters, offset, offset + length, digitCount, destination, destinationOffset);
+    }
+
+    /**
+     * Converts a range of a byte array containing hexadecimal ASCII characters (as received from the network for example) to a byte array.
+     * The input is handled like in {@link #hexToArray(CharSequence)}.
+     *
+     * @param asciiCharacters the array containing the hexadecimal characters, one per byte
+     * @param offset index of the first character to decode
+     * @param length number of characters to decode
+     * @throws NumberFormatException if the input is not a valid hexadecimal value
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static byte[] asciiHexToArray(byte[] asciiCharacters, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, asciiCharacters.length);
+        int digitCount = HexCodec.countDigits(asciiCharacters, offset, offset + length);
+        if (digitCount < 0) {
+            throw HexCodec.invalidCharacter((char) (asciiCharacters[-digitCount - 1] & 0xFF), -digitCount - 1);
+        }
+        byte[] result = new byte[(digitCount + 1) / 2];
+        HexCodec.decode(asciiCharacters, offset, offset + length, digitCount, result, 0);
+        return result;
+    }
+
+    /**
+     * Decodes a range of a byte array containing hexadecimal ASCII characters into an existing array.
+     * The input is handled like in {@link #hexToArray(CharSequence)}.
+     *
+     * @param asciiCharacters the array containing the hexadecimal characters, one per byte
+     * @param offset index of the first character to decode
+     * @param length number of characters to decode
+     * @param destination the array receiving the decoded bytes
+     * @param destinationOffset index of the first byte to write
+     * @return the number of bytes written
+     * @throws NumberFormatException if the input is not a valid hexadecimal value (nothing is written in that case)
+     * @throws IndexOutOfBoundsException if the range is not within the array, or if the decoded bytes do not fit in the destination array
+     */
+    public static int asciiHexToArray(byte[] asciiCharacters, int offset, int length, byte[] destination, int destinationOffset) {
+        Objects.checkFromIndexSize(offset, length, asciiCharacters.length);
+        int digitCount = HexCodec.countDigits(asciiCharacters, offset, offset + length);
+        if (digitCount < 0) {
+            throw HexCodec.invalidCharacter((char) (asciiCharacters[-digitCount - 1] & 0xFF), -digitCount - 1);
+        }
+        Objects.checkFromIndexSize(destinationOffset, (digitCount + 1) / 2, destination.length);
+        return HexCodec.decode(asciiCharacters, offset, offset + length, digitCount, destination, destinationOffset);
+    }
+
+    /**
+     * Converts the remaining hexadecimal ASCII characters of a buffer (heap or direct) to a byte array.
+     * The input is handled like in {@link #hexToArray(CharSequence)}.
+     * The position of the buffer is set to its limit once the characters are decoded.
+     *
+     * @param asciiCharacters the buffer containing the hexadecimal characters, one per byte
+     * @throws NumberFormatException if the input is not a valid hexadecimal value (the position of the buffer is not changed in that case)
+     */
+    public static byte[] asciiHexToArray(ByteBuffer asciiCharacters) {
+        int position = asciiCharacters.position();
+        int limit = asciiCharacters.limit();
+        int digitCount = HexCodec.countDigits(asciiCharacters, position, limit);
+        if (digitCount < 0) {
+            throw HexCodec.invalidCharacter((char) (asciiCharacters.get(-digitCount - 1) & 0xFF), -digitCount - 1);
+        }
+        byte[] result = new byte[(digitCount + 1) / 2];
+        HexCodec.decode(asciiCharacters, position, limit, digitCount, result, 0);
+        asciiCharacters.position(limit);
+        return result;
+    }
+
+    /**
+     * Decodes the remaining hexadecimal ASCII characters of a buffer (heap or direct) into an existing array.
+     * The input is handled like in {@link #hexToArray(CharSequence)}.
+     * The position of the buffer is set to its limit once the characters are decoded.
+     *
+     * @param asciiCharacters the buffer containing the hexadecimal characters, one per byte
+     * @param destination the array receiving the decoded bytes
+     * @param destinationOffset index of the first byte to write
+     * @return the number of bytes written
+     * @throws NumberFormatException if the input is not a valid hexadecimal value (nothing is written and the position of the buffer is not
+     *         changed in that case)
+     * @throws IndexOutOfBoundsException if the decoded bytes do not fit in the destination array
+     */
+    public static int asciiHexToArray(ByteBuffer asciiCharacters, byte[] destination, int destinationOffset) {
+        int position = asciiCharacters.position();
+        int limit = asciiCharacters.limit();
+        int digitCount = HexCodec.countDigits(asciiCharacters, position, limit);
+        if (digitCount < 0) {
+            throw HexCodec.invalidCharacter((char) (asciiCharacters.get(-digitCount - 1) & 0xFF), -digitCount - 1);
+        }
+        Objects.checkFromIndexSize(destinationOffset, (digitCount + 1) / 2, destination.length);
+        int byteCount = HexCodec.decode(asciiCharacters, position, limit, digitCount, destination, destinationOffset);
+        asciiCharacters.position(limit);
+        return byteCount;
+    }
+
+    /**
+     * Checks, without throwing any exception, if a CharSequence can be decoded by {@link #hexToArray(CharSequence)} : it must contain only
+     * hexadecimal digits and whitespaces (spaces, tabs, newlines).
+     *
+     * @throws NullPointerException if the input is null
+     */
+    public static boolean isHex(CharSequence hexString) {
+        return HexCodec.countDigits(hexString, 0, hexString.length()) >= 0;
+    }
+
+    /**
+     * Same as {@link #hexToByte(String)}, but returns -1 instead of throwing an exception if the input is invalid.
+     *
+     * @return the value of the byte (0 to 255), or -1 if the input is not 1 or 2 hexadecimal digits
+     * @throws NullPointerException if the input is null
+     */
+    public static int tryHexToByte(CharSequence hexString) {
+        int length = hexString.length();
+        if (length == 1) {
+            int value = HexCodec.digit(hexString.charAt(0));
+            return (value < 0) ? -1 : value;
+        }
+        if (length == 2) {
+            int high = HexCodec.digit(hexString.charAt(0));
+            int low = HexCodec.digit(hexString.charAt(1));
+            return ((high < 0) || (low < 0)) ? -1 : (high << 4) | low;
+        }
+        return -1;
+    }
+
+    /**
+     * <p>Same as {@link #hexToArray(CharSequence, byte[], int)}, but returns a negative value instead of throwing an exception if the
+     * input is invalid, which avoids the cost of the exception on paths where invalid input is frequent.</p>
+     * <p>A destination with <code>(hexString.length() + 1) / 2</code> bytes available is always large enough.</p>
+     *
+     * @param hexString the hexadecimal characters
+     * @param destination the array receiving the decoded bytes
+     * @param destinationOffset index of the first byte to write
+     * @return the number of bytes written, or <code>-(index + 1)</code> if the character at <code>index</code> is invalid (nothing is written
+     *         in that case)
+     * @throws IndexOutOfBoundsException if the decoded bytes do not fit in the destination array
+     */
+    public static int tryHexToArray(CharSequence hexString, byte[] destination, int destinationOffset) {
+        int length = hexString.length();
+        int digitCount = HexCodec.countDigits(hexString, 0, length);
+        if (digitCount < 0) {
+            return digitCount;
+        }
+        Objects.checkFromIndexSize(destinationOffset, (digitCount + 1) / 2, destination.length);
+        return HexCodec.decode(hexString, 0, length, digitCount, destination, destinationOffset);
+    }
+
+    /**
+     * Converts a byte array to an upper case hexadecimal String, two characters per byte.
+     *
+     * @throws NullPointerException if the array is null
+     * @throws IllegalArgumentException if the array is longer than <code>Integer.MAX_VALUE / 2</code> bytes
+     */
+    public static String arrayToHex(byte[] array) {
+        return arrayToHex(array, 0, array.length, true);
+    }
+
+    /**
+     * Converts a byte array to a hexadecimal String, two characters per byte.
+     *
+     * @param array the array to convert
+     * @param upperCase true to use upper case letters, false to use lower case ones
+     * @throws NullPointerException if the array is null
+     * @throws IllegalArgumentException if the array is longer than <code>Integer.MAX_VALUE / 2</code> bytes
+     */
+    public static String arrayToHex(byte[] array, boolean upperCase) {
+        return arrayToHex(array, 0, array.length, upperCase);
+    }
+
+    /**
+     * Converts a range of a byte array to a hexadecimal String, two characters per byte.
+     *
+     * @param array the array to convert
+     * @param offset index of the first byte to convert
+     * @param length number of bytes to convert
+     * @param upperCase true to use upper case letters, false to use lower case ones
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     * @throws IllegalArgumentException if the range is longer than <code>Integer.MAX_VALUE / 2</code> bytes
+     */
+    public static String arrayToHex(byte[] array, int offset, int length, boolean upperCase) {
+        Objects.checkFromIndexSize(offset, length, array.length);
+        // the characters are encoded as latin-1 bytes, so that the String can use them without going through a char array
+        byte[] characters = new byte[hexLength(length)];
+        HexCodec.encode(array, offset, length, characters, 0, HexCodec.pairs(upperCase));
+        return new String(characters, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Writes the hexadecimal representation of a range of a byte array to a char array, two characters per byte.
+     *
+     * @param array the array to convert
+     * @param offset index of the first byte to convert
+     * @param length number of bytes to convert
+     * @param destination the array receiving the characters
+     * @param destinationOffset index of the first character to write
+     * @param upperCase true to use upper case letters, false to use lower case ones
+     * @return the number of characters written (<code>2 * length</code>)
+     * @throws IndexOutOfBoundsException if one of the ranges is not within its array
+     * @throws IllegalArgumentException if the range is longer than <code>Integer.MAX_VALUE / 2</code> bytes
+     */
+    public static int arrayToHex(byte[] array, int offset, int length, char[] destination, int destinationOffset, boolean upperCase) {
+        Objects.checkFromIndexSize(offset, length, array.length);
+        int hexLength = hexLength(length);
+        Objects.checkFromIndexSize(destinationOffset, hexLength, destination.length);
+        HexCodec.encode(array, offset, length, destination, destinationOffset, HexCodec.pairs(upperCase));
+        return hexLength;
+    }
+
+    /**
+     * Writes the hexadecimal representation of a range of a byte array to a byte array as ASCII characters, two per byte.
+     *
+     * @param array the array to convert
+     * @param offset index of the first byte to convert
+     * @param length number of bytes to convert
+     * @param destination the array receiving the ASCII characters
+     * @param destinationOffset index of the first character to write
+     * @param upperCase true to use upper case letters, false to use lower case ones
+     * @return the number of characters written (<code>2 * length</code>)
+     * @throws IndexOutOfBoundsException if one of the ranges is not within its array
+     * @throws IllegalArgumentException if the range is longer than <code>Integer.MAX_VALUE / 2</code> bytes
+     */
+    public static int arrayToHex(byte[] array, int offset, int length, byte[] destination, int destinationOffset, boolean upperCase) {
+        Objects.checkFromIndexSize(offset, length, array.length);
+        int hexLength = hexLength(length);
+        Objects.checkFromIndexSize(destinationOffset, hexLength, destination.length);
+        HexCodec.encode(array, offset, length, destination, destinationOffset, HexCodec.pairs(upperCase));
+        return hexLength;
+    }
+
+    /**
+     * @return the number of hexadecimal characters of a range, which must fit in an array
+     */
+    private static int hexLength(int length) {
+        if (length > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("the range is too long to be converted (" + length + " bytes)");
+        }
+        return length * 2;
+    }
+
     /**
      * Checks if the bytes in the specified arrays are equals.
      *
      * @param first the first array to compare
      * @param second the second array to compare
+     * @throws NullPointerException if one of the arrays is null
      */
     public static boolean equals(byte[] first, byte[] second) {
-        return (first.length == second.length) ? bytesEqual(first, 0, second, 0) : false;
+        // Arrays.equals would consider two null arrays equal
+        return Arrays.equals(Objects.requireNonNull(first), Objects.requireNonNull(second));
     }
 
     /**
@@ -91,7 +498,9 @@ public class ArrayTools {
     }
 
     /**
-     * Checks if the hayStack array contains the needle array at the specified offsets.
+     * <p>Checks if the hayStack array contains the needle array at the specified offsets.</p>
+     * <p>The bytes are compared by the JDK (Arrays.equals on ranges), which compares several bytes at a time.
+     * If the hayStack does not contain enough bytes after its offset, false is returned.</p>
      *
      * @param hayStack the array to check
      * @param hayStackOffset offset for the hayStack array
@@ -99,13 +508,59 @@ public class ArrayTools {
      * @param needleOffset offset for the needle array
      */
     public static boolean bytesEqual(byte[] hayStack, int hayStackOffset, byte[] needle, int needleOffset) {
-        if (hayStack[hayStackOffset] != needle[needleOffset]) {
+        int length = needle.length - needleOffset;
+        if (hayStack.length - hayStackOffset < length) {
             return false;
         }
-        if (needleOffset == (needle.length - 1)) {
-            return true;
-        }
-        return bytesEqual(hayStack, hayStackOffset + 1, needle, needleOffset + 1);
+        return Arrays.equals(hayStack, hayStackOffset, hayStackOffset + length, needle, needleOffset, needle.length);
+    }
+
+    /**
+     * Finds the index of the first byte that differs between two arrays.
+     *
+     * @return the index of the first difference, the length of the shorter array if it is a prefix of the other one, or -1 if the arrays
+     *         are equal
+     */
+    public static int mismatch(byte[] first, byte[] second) {
+        return Arrays.mismatch(first, second);
+    }
+
+    /**
+     * Finds the first byte that differs between two ranges, without copying them. The bytes are compared several at a time by the JDK.
+     *
+     * @param first the first array to compare
+     * @param firstFromIndex index of the first byte of the first range
+     * @param firstToIndex index after the last byte of the first range
+     * @param second the second array to compare
+     * @param secondFromIndex index of the first byte of the second range
+     * @param secondToIndex index after the last byte of the second range
+     * @return the index (relative to the start of the ranges) of the first difference, the length of the shorter range if it is a prefix
+     *         of the other one, or -1 if the ranges are equal
+     * @throws IllegalArgumentException if a from index is greater than its to index
+     * @throws ArrayIndexOutOfBoundsException if one of the ranges is not within its array
+     */
+    public static int mismatch(byte[] first, int firstFromIndex, int firstToIndex, byte[] second, int secondFromIndex, int secondToIndex) {
+        return Arrays.mismatch(first, firstFromIndex, firstToIndex, second, secondFromIndex, secondToIndex);
+    }
+
+    /**
+     * Compares two arrays lexicographically, the bytes being compared as unsigned values (0x80 is greater than 0x7F), as usually expected
+     * for sorted binary keys.
+     *
+     * @return a negative value if the first array is lower, 0 if they are equal, a positive value if the first array is greater
+     */
+    public static int compareUnsigned(byte[] first, byte[] second) {
+        return Arrays.compareUnsigned(first, second);
+    }
+
+    /**
+     * Same as {@link #compareUnsigned(byte[], byte[])}, for two ranges (without copying them).
+     *
+     * @throws IllegalArgumentException if a from index is greater than its to index
+     * @throws ArrayIndexOutOfBoundsException if one of the ranges is not within its array
+     */
+    public static int compareUnsigned(byte[] first, int firstFromIndex, int firstToIndex, byte[] second, int secondFromIndex, int secondToIndex) {
+        return Arrays.compareUnsigned(first, firstFromIndex, firstToIndex, second, secondFromIndex, secondToIndex);
     }
 
     /**
@@ -115,7 +570,7 @@ public class ArrayTools {
      * @param needle the byte to find
      */
     public static Optional<Integer> indexOfFirst(byte[] hayStack, byte needle) {
-        return indexOfFirst(hayStack, needle, 0);
+        return optionalIndex(indexOf(hayStack, needle, 0));
     }
 
     /**
@@ -126,12 +581,7 @@ public class ArrayTools {
      * @param hayStackOffset the first index to check
      */
     public static Optional<Integer> indexOfFirst(byte[] hayStack, byte needle, int hayStackOffset) {
-        for (int index = hayStackOffset; index < hayStack.length; index++) {
-            if (hayStack[index] ==  needle) {
-                return Optional.of(index);
-            }
-        }
-        return Optional.empty();
+        return optionalIndex(indexOf(hayStack, needle, hayStackOffset));
     }
 
     /**
@@ -141,7 +591,7 @@ public class ArrayTools {
      * @param needle the byte to find
      */
     public static Optional<Integer> indexOfLast(byte[] hayStack, byte needle) {
-        return indexOfLast(hayStack, needle, hayStack.length - 1);
+        return optionalIndex(lastIndexOf(hayStack, needle, hayStack.length - 1));
     }
 
     /**
@@ -152,12 +602,7 @@ public class ArrayTools {
      * @param hayStackOffset the first index to check
      */
     public static Optional<Integer> indexOfLast(byte[] hayStack, byte needle, int hayStackOffset) {
-        for (int index = hayStackOffset; index >= 0; index--) {
-            if (hayStack[index] ==  needle) {
-                return Optional.of(index);
-            }
-        }
-        return Optional.empty();
+        return optionalIndex(lastIndexOf(hayStack, needle, hayStackOffset));
     }
 
     /**
@@ -167,7 +612,7 @@ public class ArrayTools {
      * @param needle the array to find
      */
     public static Optional<Integer> indexOfFirst(byte[] hayStack, byte[] needle) {
-        return indexOfFirst(hayStack, needle, 0);
+        return optionalIndex(indexOf(hayStack, needle, 0));
     }
 
     /**
@@ -178,12 +623,7 @@ public class ArrayTools {
      * @param hayStackOffset the first index to check
      */
     public static Optional<Integer> indexOfFirst(byte[] hayStack, byte[] needle, int hayStackOffset) {
-        for (int index = hayStackOffset; index < (hayStack.length - (needle.length - 1)); index++) {
-            if (bytesEqual(hayStack, index, needle, 0)) {
-                return Optional.of(index);
-            }
-        }
-        return Optional.empty();
+        return optionalIndex(indexOf(hayStack, needle, hayStackOffset));
     }
 
     /**
@@ -193,7 +633,7 @@ public class ArrayTools {
      * @param needle the array to find
      */
     public static Optional<Integer> indexOfLast(byte[] hayStack, byte[] needle) {
-        return indexOfLast(hayStack, needle, hayStack.length - 1);
+        return optionalIndex(lastIndexOf(hayStack, needle, hayStack.length - 1));
     }
 
     /**
@@ -204,12 +644,286 @@ public class ArrayTools {
      * @param hayStackOffset the first index to check
      */
     public static Optional<Integer> indexOfLast(byte[] hayStack, byte[] needle, int hayStackOffset) {
-        for (int index = hayStackOffset; index >= 0; index--) {
-            if (bytesEqual(hayStack, index, needle, 0)) {
-                return Optional.of(index);
-            }
+        return optionalIndex(lastIndexOf(hayStack, needle, hayStackOffset));
+    }
+
+    private static Optional<Integer> optionalIndex(int index) {
+        return (index < 0) ? Optional.empty() : Optional.of(index);
+    }
+
+    /**
+     * <p>Same as {@link #indexOfFirst(byte[], byte)}, returning -1 if the byte is not found.</p>
+     * <p>The int returning search methods do not allocate anything, they should be preferred in loops.</p>
+     *
+     * @param hayStack the array to check
+     * @param needle the byte to find
+     */
+    public static int indexOf(byte[] hayStack, byte needle) {
+        return indexOf(hayStack, needle, 0);
+    }
+
+    /**
+     * Same as {@link #indexOfFirst(byte[], byte, int)}, returning -1 if the byte is not found.
+     *
+     * @param hayStack the array to check
+     * @param needle the byte to find
+     * @param hayStackOffset the first index to check
+     */
+    public static int indexOf(byte[] hayStack, byte needle, int hayStackOffset) {
+        return ByteSearch.indexOf(hayStack, needle, hayStackOffset, hayStack.length);
+    }
+
+    /**
+     * Same as {@link #indexOfLast(byte[], byte)}, returning -1 if the byte is not found.
+     *
+     * @param hayStack the array to check
+     * @param needle the byte to find
+     */
+    public static int lastIndexOf(byte[] hayStack, byte needle) {
+        return lastIndexOf(hayStack, needle, hayStack.length - 1);
+    }
+
+    /**
+     * Same as {@link #indexOfLast(byte[], byte, int)}, returning -1 if the byte is not found.
+     *
+     * @param hayStack the array to check
+     * @param needle the byte to find
+     * @param hayStackOffset the first index to check
+     */
+    public static int lastIndexOf(byte[] hayStack, byte needle, int hayStackOffset) {
+        return ByteSearch.lastIndexOf(hayStack, needle, 0, hayStackOffset + 1);
+    }
+
+    /**
+     * <p>Returns the index of the first byte of an array that is equal to any of the given values, or -1 if none is found.</p>
+     * <p>Up to 3 values are compared 8 bytes at a time, which makes it the building block of tokenizers stopping at several
+     * delimiters (CR, LF, comma...).</p>
+     *
+     * @param hayStack the array to check
+     * @param values the bytes to find
+     */
+    public static int indexOfAny(byte[] hayStack, byte... values) {
+        return ByteSearch.indexOfAny(hayStack, values, 0, hayStack.length);
+    }
+
+    /**
+     * Returns the index of the first byte of the range [fromIndex, toIndex[ of an array that is equal to any of the given values, or -1
+     * if none is found.
+     *
+     * @param hayStack the array to check
+     * @param fromIndex the first index to check
+     * @param toIndex the index after the last one to check
+     * @param values the bytes to find
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static int indexOfAny(byte[] hayStack, int fromIndex, int toIndex, byte[] values) {
+        Objects.checkFromToIndex(fromIndex, toIndex, hayStack.length);
+        return ByteSearch.indexOfAny(hayStack, values, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the index of the last byte of an array that is equal to any of the given values, or -1 if none is found.
+     *
+     * @param hayStack the array to check
+     * @param values the bytes to find
+     */
+    public static int lastIndexOfAny(byte[] hayStack, byte... values) {
+        return ByteSearch.lastIndexOfAny(hayStack, values, 0, hayStack.length);
+    }
+
+    /**
+     * Returns the index of the last byte of the range [fromIndex, toIndex[ of an array that is equal to any of the given values, or -1
+     * if none is found.
+     *
+     * @param hayStack the array to check
+     * @param fromIndex the first index to check
+     * @param toIndex the index after the last one to check
+     * @param values the bytes to find
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static int lastIndexOfAny(byte[] hayStack, int fromIndex, int toIndex, byte[] values) {
+        Objects.checkFromToIndex(fromIndex, toIndex, hayStack.length);
+        return ByteSearch.lastIndexOfAny(hayStack, values, fromIndex, toIndex);
+    }
+
+    /**
+     * Checks if the hayStack array contains a byte that is not equal to a value, and if so, returns the index of the first one.
+     *
+     * @param hayStack the array to check
+     * @param value the byte to skip
+     */
+    public static Optional<Integer> indexOfFirstNot(byte[] hayStack, byte value) {
+        return optionalIndex(indexOfNot(hayStack, value));
+    }
+
+    /**
+     * Checks if the hayStack array contains a byte that is not equal to a value, and if so, returns the index of the last one.
+     *
+     * @param hayStack the array to check
+     * @param value the byte to skip
+     */
+    public static Optional<Integer> indexOfLastNot(byte[] hayStack, byte value) {
+        return optionalIndex(lastIndexOfNot(hayStack, value));
+    }
+
+    /**
+     * Same as {@link #indexOfFirstNot(byte[], byte)}, returning -1 if all the bytes are equal to the value.
+     *
+     * @param hayStack the array to check
+     * @param value the byte to skip
+     */
+    public static int indexOfNot(byte[] hayStack, byte value) {
+        return ByteSearch.indexOfNot(hayStack, value, 0, hayStack.length);
+    }
+
+    /**
+     * <p>Returns the index of the first byte of the range [fromIndex, toIndex[ of an array that is not equal to a value, or -1 if all
+     * of them are.</p>
+     * <p>The bytes are compared 8 at a time, to skip runs of padding quickly.</p>
+     *
+     * @param hayStack the array to check
+     * @param fromIndex the first index to check
+     * @param toIndex the index after the last one to check
+     * @param value the byte to skip
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static int indexOfNot(byte[] hayStack, int fromIndex, int toIndex, byte value) {
+        Objects.checkFromToIndex(fromIndex, toIndex, hayStack.length);
+        return ByteSearch.indexOfNot(hayStack, value, fromIndex, toIndex);
+    }
+
+    /**
+     * Same as {@link #indexOfLastNot(byte[], byte)}, returning -1 if all the bytes are equal to the value.
+     *
+     * @param hayStack the array to check
+     * @param value the byte to skip
+     */
+    public static int lastIndexOfNot(byte[] hayStack, byte value) {
+        return ByteSearch.lastIndexOfNot(hayStack, value, 0, hayStack.length);
+    }
+
+    /**
+     * Returns the index of the last byte of the range [fromIndex, toIndex[ of an array that is not equal to a value (to trim trailing
+     * padding), or -1 if all of them are.
+     *
+     * @param hayStack the array to check
+     * @param fromIndex the first index to check
+     * @param toIndex the index after the last one to check
+     * @param value the byte to skip
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static int lastIndexOfNot(byte[] hayStack, int fromIndex, int toIndex, byte value) {
+        Objects.checkFromToIndex(fromIndex, toIndex, hayStack.length);
+        return ByteSearch.lastIndexOfNot(hayStack, value, fromIndex, toIndex);
+    }
+
+    /**
+     * <p>Returns the length of the run of bytes starting at fromIndex that are all equal to one of the given values (like
+     * <code>strspn</code> in C), to skip whitespace for instance.</p>
+     * <p>The opposite (length of the run of bytes not in the set, like <code>strcspn</code>) is given by
+     * {@link #indexOfAny(byte[], int, int, byte[])}.</p>
+     *
+     * @param hayStack the array to check
+     * @param fromIndex the first index to check
+     * @param toIndex the index after the last one to check
+     * @param values the bytes to skip
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static int spanOf(byte[] hayStack, int fromIndex, int toIndex, byte[] values) {
+        Objects.checkFromToIndex(fromIndex, toIndex, hayStack.length);
+        return ByteSearch.span(hayStack, values, fromIndex, toIndex) - fromIndex;
+    }
+
+    /**
+     * Checks if all the bytes of an array are equal to a value (true for an empty array).
+     */
+    public static boolean isAllEqual(byte[] array, byte value) {
+        return ByteSearch.indexOfNot(array, value, 0, array.length) < 0;
+    }
+
+    /**
+     * Checks if all the bytes of the range [fromIndex, toIndex[ of an array are equal to a value (true for an empty range).
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static boolean isAllEqual(byte[] array, int fromIndex, int toIndex, byte value) {
+        return indexOfNot(array, fromIndex, toIndex, value) < 0;
+    }
+
+    /**
+     * Checks if all the bytes of an array are zero (true for an empty array).
+     */
+    public static boolean isAllZero(byte[] array) {
+        return isAllEqual(array, (byte) 0);
+    }
+
+    /**
+     * Checks if all the bytes of the range [fromIndex, toIndex[ of an array are zero (true for an empty range).
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static boolean isAllZero(byte[] array, int fromIndex, int toIndex) {
+        return isAllEqual(array, fromIndex, toIndex, (byte) 0);
+    }
+
+    /**
+     * Same as {@link #indexOfFirst(byte[], byte[])}, returning -1 if the needle is not found.
+     *
+     * @param hayStack the array to check
+     * @param needle the array to find
+     */
+    public static int indexOf(byte[] hayStack, byte[] needle) {
+        return indexOf(hayStack, needle, 0);
+    }
+
+    /**
+     * Same as {@link #indexOfFirst(byte[], byte[], int)}, returning -1 if the needle is not found.
+     *
+     * @param hayStack the array to check
+     * @param needle the array to find
+     * @param hayStackOffset the first index to check
+     */
+    public static int indexOf(byte[] hayStack, byte[] needle, int hayStackOffset) {
+        ByteSearcher searcher = cachedSearcher(needle);
+        if ((searcher != null) && (hayStackOffset >= 0) && (hayStackOffset <= hayStack.length)) {
+            return searcher.indexOf(hayStack, hayStackOffset, hayStack.length);
         }
-        return Optional.empty();
+        return ByteSearch.indexOf(hayStack, needle, hayStackOffset, hayStack.length);
+    }
+
+    /**
+     * Same as {@link #indexOfLast(byte[], byte[])}, returning -1 if the needle is not found.
+     *
+     * @param hayStack the array to check
+     * @param needle the array to find
+     */
+    public static int lastIndexOf(byte[] hayStack, byte[] needle) {
+        return lastIndexOf(hayStack, needle, hayStack.length - 1);
+    }
+
+    /**
+     * Same as {@link #indexOfLast(byte[], byte[], int)}, returning -1 if the needle is not found.
+     *
+     * @param hayStack the array to check
+     * @param needle the array to find
+     * @param hayStackOffset the first index to check
+     */
+    public static int lastIndexOf(byte[] hayStack, byte[] needle, int hayStackOffset) {
+        // the needle can not start after hayStack.length - needle.length
+        int lastStart = Math.min(hayStackOffset, hayStack.length - needle.length);
+        ByteSearcher searcher = cachedSearcher(needle);
+        if ((searcher != null) && (lastStart >= 0)) {
+            return searcher.lastIndexOf(hayStack, 0, lastStart + needle.length);
+        }
+        return ByteSearch.lastIndexOf(hayStack, needle, 0, lastStart + needle.length);
+    }
+
+    /**
+     * @return the compiled needle from the searcher cache, or null if there is no cache or if the needle is too short to need compiling
+     */
+    private static ByteSearcher cachedSearcher(byte[] needle) {
+        ByteSearcherCache cache = searcherCache;
+        return ((cache != null) && (needle.length > 1)) ? cache.get(needle) : null;
     }
 
     /**
@@ -292,7 +1006,7 @@ public class ArrayTools {
         int startIndex = 0;
         int separatorIndex = -1;
         do {
-            separatorIndex = indexOfFirst(array, separator, startIndex).orElse(-1);
+            separatorIndex = indexOf(array, separator, startIndex);
             if (separatorIndex == -1) {
                 result.add(Arrays.copyOfRange(array, startIndex, array.length));
                 break;
@@ -310,20 +1024,31 @@ public class ArrayTools {
     }
 
     /**
-     * Splits an array, using the given separator (similar to String::split, but not using regexp).
+     * <p>Splits an array, using the given separator (similar to String::split, but not using regexp).</p>
+     * <p>The separator is compiled once for the whole array (or taken from the searcher cache if one is set), see {@link ByteSearcher}.</p>
+     *
+     * @throws IllegalArgumentException if the separator is empty
      */
     public static List<byte[]> split(byte[] separator, byte[] array) {
+        ByteSearcherCache cache = searcherCache;
+        return split((cache != null) ? cache.get(separator) : ByteSearcher.compile(separator), array);
+    }
+
+    /**
+     * Splits an array, using a compiled separator (to split many arrays with the same separator).
+     */
+    public static List<byte[]> split(ByteSearcher separator, byte[] array) {
         List<byte[]> result = new ArrayList<>();
         int startIndex = 0;
         int separatorIndex = -1;
         do {
-            separatorIndex = indexOfFirst(array, separator, startIndex).orElse(-1);
+            separatorIndex = separator.indexOf(array, startIndex, array.length);
             if (separatorIndex == -1) {
                 result.add(Arrays.copyOfRange(array, startIndex, array.length));
                 break;
             } else {
                 result.add(Arrays.copyOfRange(array, startIndex, separatorIndex));
-                startIndex = separatorIndex + separator.length;
+                startIndex = separatorIndex + separator.length();
                 // special case if the array ends with the separator
                 if (startIndex == array.length) {
                     result.add(new byte[] {});
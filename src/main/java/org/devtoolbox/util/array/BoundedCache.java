@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+
+/**
+ * <p>Thread-safe cache with a maximum size, evicting the least recently used entries.</p>
+ * <p>The entries are split in segments (by hash code of the key) that are locked separately, so that threads using different keys
+ * rarely wait for each other. The values are computed outside of the locks, so a value may be computed more than once if several threads
+ * ask for the same missing key at the same time (only one of them is kept).</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+final class BoundedCache<K, V> {
+
+    private static final int MAXIMUM_SEGMENT_COUNT = 16;
+
+    private final Segment<K, V>[] segments;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    BoundedCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("the maximum size must be positive");
+        }
+        // a power of 2 lower than the size, so that every segment can hold at least one entry
+        int segmentCount = Math.min(MAXIMUM_SEGMENT_COUNT, Integer.highestOneBit(maximumSize));
+        segments = new Segment[segmentCount];
+        for (int index = 0; index < segmentCount; index++) {
+            // the first segments get the remaining entries, so that the total is the maximum size
+            segments[index] = new Segment<>(maximumSize / segmentCount + ((index < maximumSize % segmentCount) ? 1 : 0));
+        }
+    }
+
+    /**
+     * Returns the value associated to the key, computing it with the loader if it is not in the cache.
+     * Exceptions thrown by the loader are propagated, nothing is cached in that case.
+     */
+    V get(K key, Function<? super K, ? extends V> loader) {
+        return get(key, UnaryOperator.identity(), loader);
+    }
+
+    /**
+     * Same as {@link #get(Object, Function)}, storing the key returned by <code>keyCopier</code> rather than the given one (when the
+     * given key is a view of mutable data, for example).
+     */
+    V get(K key, UnaryOperator<K> keyCopier, Function<? super K, ? extends V> loader) {
+        Segment<K, V> segment = segment(key);
+        V value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+        if (value != null) {
+            hitCount.increment();
+            return value;
+        }
+        missCount.increment();
+        V loadedValue = loader.apply(key);
+        synchronized (segment) {
+            value = segment.putIfAbsent(keyCopier.apply(key), loadedValue);
+        }
+        return (value != null) ? value : loadedValue;
+    }
+
+    long hitCount() {
+        return hitCount.sum();
+    }
+
+    long missCount() {
+        return missCount.sum();
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private Segment<K, V> segment(K key) {
+        int hash = key.hashCode();
+        // spread the high bits, the low ones of some hash codes are poorly distributed
+        hash ^= (hash >>> 16);
+        return segments[hash & (segments.length - 1)];
+    }
+
+    /**
+     * LinkedHashMap in access order, removing the least recently used entry when it is full.
+     */
+    private static class Segment<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maximumSize;
+
+        Segment(int maximumSize) {
+            super(16, 0.75f, true);
+            this.maximumSize = maximumSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maximumSize;
+        }
+    }
+}
\ No newline at end of file
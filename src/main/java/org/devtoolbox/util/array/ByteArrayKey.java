@@ -0,0 +1,234 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * <p>Immutable key wrapping a byte array (or a range of one), to use byte arrays as keys of maps or elements of sets : unlike byte[], it
+ * compares the content of the arrays, like {@link ArrayTools#equals(byte[], byte[])}.</p>
+ * <p>The hash code is computed once, when the key is created, with {@link ByteHashes#xxHash64(byte[], int, int, long)}, so lookups do not
+ * hash the bytes again, and most unequal keys are told apart without comparing their bytes. Keys are ordered like
+ * {@link ArrayTools#compareUnsigned(byte[], byte[])}.</p>
+ * <p>{@link #wrap(byte[], int, int)} does not copy the array : it must not be modified while the key is used. {@link #copyOf(byte[], int, int)}
+ * and {@link Interner} make a private copy.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class ByteArrayKey implements Comparable<ByteArrayKey> {
+
+    private final byte[] array;
+    private final int fromIndex;
+    private final int toIndex;
+    private final int hash;
+
+    private ByteArrayKey(byte[] array, int fromIndex, int toIndex, int hash) {
+        this.array = array;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+        this.hash = hash;
+    }
+
+    private ByteArrayKey(byte[] array, int fromIndex, int toIndex) {
+        this(array, fromIndex, toIndex, hash(array, fromIndex, toIndex));
+    }
+
+    /**
+     * Creates a key wrapping an array, without copying it (the array must not be modified while the key is used).
+     */
+    public static ByteArrayKey wrap(byte[] array) {
+        return new ByteArrayKey(array, 0, array.length);
+    }
+
+    /**
+     * Creates a key wrapping a range of an array, without copying it (the range must not be modified while the key is used).
+     *
+     * @param array the array containing the bytes of the key
+     * @param fromIndex index of the first byte of the key
+     * @param toIndex index after the last byte of the key
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static ByteArrayKey wrap(byte[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        return new ByteArrayKey(array, fromIndex, toIndex);
+    }
+
+    /**
+     * Creates a key containing a copy of an array.
+     */
+    public static ByteArrayKey copyOf(byte[] array) {
+        return copyOf(array, 0, array.length);
+    }
+
+    /**
+     * Creates a key containing a copy of a range of an array.
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public static ByteArrayKey copyOf(byte[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        byte[] copy = Arrays.copyOfRange(array, fromIndex, toIndex);
+        return new ByteArrayKey(copy, 0, copy.length);
+    }
+
+    /**
+     * Returns a key with a private copy of the bytes of this one (without computing the hash again).
+     */
+    ByteArrayKey copy() {
+        return new ByteArrayKey(toByteArray(), 0, length(), hash);
+    }
+
+    private static int hash(byte[] array, int fromIndex, int toIndex) {
+        long hash = XxHash64.hash(array, fromIndex, toIndex - fromIndex, 0);
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Returns the number of bytes of the key.
+     */
+    public int length() {
+        return toIndex - fromIndex;
+    }
+
+    /**
+     * Returns the byte of the key at the given index.
+     *
+     * @throws IndexOutOfBoundsException if the index is not lower than the length of the key
+     */
+    public byte byteAt(int index) {
+        Objects.checkIndex(index, length());
+        return array[fromIndex + index];
+    }
+
+    /**
+     * Returns a copy of the bytes of the key.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOfRange(array, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns a read-only view of the bytes of the key, which avoids copying them.
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        return ByteBuffer.wrap(array, fromIndex, length()).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Checks if the key contains the same bytes as a range of an array.
+     */
+    public boolean contentEquals(byte[] other, int otherFromIndex, int otherToIndex) {
+        return Arrays.equals(array, fromIndex, toIndex, other, otherFromIndex, otherToIndex);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ByteArrayKey)) {
+            return false;
+        }
+        ByteArrayKey other = (ByteArrayKey) object;
+        return (hash == other.hash) && Arrays.equals(array, fromIndex, toIndex, other.array, other.fromIndex, other.toIndex);
+    }
+
+    @Override
+    public int compareTo(ByteArrayKey other) {
+        return Arrays.compareUnsigned(array, fromIndex, toIndex, other.array, other.fromIndex, other.toIndex);
+    }
+
+    /**
+     * Returns the bytes of the key in upper case hexadecimal.
+     */
+    @Override
+    public String toString() {
+        return ArrayTools.arrayToHex(array, fromIndex, length(), true);
+    }
+
+    /**
+     * <p>Returns a single instance for each distinct content, so that many equal keys (parsed from messages for example) share a single
+     * copy of their bytes.</p>
+     * <p>The arrays given to {@link #intern(byte[], int, int)} are only read : the first time a content is seen, a copy of it is stored, later
+     * calls return that key without allocating anything. The keys are never evicted, until {@link #clear()} is called. Instances are
+     * thread-safe.</p>
+     */
+    public static final class Interner {
+
+        private final ConcurrentMap<ByteArrayKey, ByteArrayKey> keys = new ConcurrentHashMap<>();
+
+        /**
+         * Creates an empty interner.
+         */
+        public Interner() {
+        }
+
+        /**
+         * Returns the interned key for the content of an array.
+         */
+        public ByteArrayKey intern(byte[] array) {
+            return intern(array, 0, array.length);
+        }
+
+        /**
+         * Returns the interned key for the content of a range of an array.
+         *
+         * @throws IndexOutOfBoundsException if the range is not within the array
+         */
+        public ByteArrayKey intern(byte[] array, int fromIndex, int toIndex) {
+            return intern(wrap(array, fromIndex, toIndex));
+        }
+
+        /**
+         * Returns the interned key equal to the given one (which is copied if its content is interned for the first time).
+         */
+        public ByteArrayKey intern(ByteArrayKey key) {
+            ByteArrayKey interned = keys.get(key);
+            if (interned != null) {
+                return interned;
+            }
+            ByteArrayKey copy = key.copy();
+            interned = keys.putIfAbsent(copy, copy);
+            return (interned != null) ? interned : copy;
+        }
+
+        /**
+         * Returns the number of distinct contents interned.
+         */
+        public int size() {
+            return keys.size();
+        }
+
+        /**
+         * Removes all the interned keys.
+         */
+        public void clear() {
+            keys.clear();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,234 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * <p>Fast non-cryptographic hash functions over arrays, ranges of arrays and ByteBuffers, to be used as hash table keys or to route values
+ * to shards (unlike {@link java.util.Arrays#hashCode(byte[])}, they read 8 bytes at a time and their results are well distributed) :</p>
+ * <ul>
+ * <li>xxHash64 (XXH64), 64 bits, also available as a streaming {@link XxHash64}</li>
+ * <li>MurmurHash3 x86_32, 32 bits</li>
+ * <li>MurmurHash3 x64_128, 128 bits, returned as two longs</li>
+ * </ul>
+ * <p>The results are the same as the ones of the reference implementations, the bytes being read as little endian values whatever the
+ * platform or the order of the ByteBuffers. The ByteBuffer methods hash the remaining bytes without changing the position of the buffer.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class ByteHashes {
+
+    private static final int MURMUR3_32_C1 = 0xCC9E2D51;
+    private static final int MURMUR3_32_C2 = 0x1B873593;
+    private static final long MURMUR3_128_C1 = 0x87C37B91114253D5L;
+    private static final long MURMUR3_128_C2 = 0x4CF5AD432745937FL;
+
+    private ByteHashes() {
+    }
+
+    /**
+     * Returns the xxHash64 of an array, with a zero seed.
+     */
+    public static long xxHash64(byte[] array) {
+        return XxHash64.hash(array, 0, array.length, 0);
+    }
+
+    /**
+     * Returns the xxHash64 of a range of an array.
+     *
+     * @param array the array containing the bytes to hash
+     * @param offset the index of the first byte to hash
+     * @param length the number of bytes to hash
+     * @param seed the seed of the hash (0 for the default one)
+     */
+    public static long xxHash64(byte[] array, int offset, int length, long seed) {
+        Objects.checkFromIndexSize(offset, length, array.length);
+        return XxHash64.hash(array, offset, length, seed);
+    }
+
+    /**
+     * Returns the xxHash64 of the remaining bytes of a buffer (direct buffers are read by chunks through {@link XxHash64}).
+     */
+    public static long xxHash64(ByteBuffer buffer, long seed) {
+        if (buffer.hasArray()) {
+            return XxHash64.hash(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed);
+        }
+        XxHash64 hash = new XxHash64(seed);
+        hash.update(buffer.duplicate());
+        return hash.getValue();
+    }
+
+    /**
+     * Returns the xxHash64 of each array of a list, for example the parts returned by {@link ArrayTools#split(byte, byte[])}.
+     * Only the result array is allocated.
+     */
+    public static long[] xxHash64(List<byte[]> arrays, long seed) {
+        long[] hashes = new long[arrays.size()];
+        int index = 0;
+        for (byte[] array : arrays) {
+            hashes[index++] = XxHash64.hash(array, 0, array.length, seed);
+        }
+        return hashes;
+    }
+
+    /**
+     * Returns the 32 bits MurmurHash3 (x86_32) of an array, with a zero seed.
+     */
+    public static int murmur3x86_32(byte[] array) {
+        return murmur3x86_32(array, 0, array.length, 0);
+    }
+
+    /**
+     * Returns the 32 bits MurmurHash3 (x86_32) of a range of an array.
+     *
+     * @param array the array containing the bytes to hash
+     * @param offset the index of the first byte to hash
+     * @param length the number of bytes to hash
+     * @param seed the seed of the hash (0 for the default one)
+     */
+    public static int murmur3x86_32(byte[] array, int offset, int length, int seed) {
+        Objects.checkFromIndexSize(offset, length, array.length);
+        int hash = seed;
+        int index = offset;
+        int end = offset + length;
+        for (; index <= end - Integer.BYTES; index += Integer.BYTES) {
+            hash ^= mixMurmur3x86_32(Swar.getInt(array, index));
+            hash = Integer.rotateLeft(hash, 13) * 5 + 0xE6546B64;
+        }
+        if (index < end) {
+            int tail = 0;
+            for (int shift = 0; index < end; index++, shift += Byte.SIZE) {
+                tail |= (array[index] & 0xFF) << shift;
+            }
+            hash ^= mixMurmur3x86_32(tail);
+        }
+        hash ^= length;
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns the 32 bits MurmurHash3 (x86_32) of the remaining bytes of a buffer (direct buffers are copied to a temporary array).
+     */
+    public static int murmur3x86_32(ByteBuffer buffer, int seed) {
+        if (buffer.hasArray()) {
+            return murmur3x86_32(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed);
+        }
+        byte[] array = remainingBytes(buffer);
+        return murmur3x86_32(array, 0, array.length, seed);
+    }
+
+    /**
+     * Returns the 128 bits MurmurHash3 (x64_128) of an array, with a zero seed.
+     *
+     * @return the two 64 bits halves of the hash (h1 and h2 of the reference implementation, whose digest is h1 then h2 as little endian
+     *         bytes)
+     */
+    public static long[] murmur3x64_128(byte[] array) {
+        return murmur3x64_128(array, 0, array.length, 0);
+    }
+
+    /**
+     * Returns the 128 bits MurmurHash3 (x64_128) of a range of an array.
+     *
+     * @param array the array containing the bytes to hash
+     * @param offset the index of the first byte to hash
+     * @param length the number of bytes to hash
+     * @param seed the seed of the hash (0 for the default one), an unsigned value like in the reference implementation
+     * @return the two 64 bits halves of the hash
+     */
+    public static long[] murmur3x64_128(byte[] array, int offset, int length, int seed) {
+        Objects.checkFromIndexSize(offset, length, array.length);
+        long hash1 = seed & 0xFFFFFFFFL;
+        long hash2 = hash1;
+        int index = offset;
+        int end = offset + length;
+        for (; index <= end - 2 * Long.BYTES; index += 2 * Long.BYTES) {
+            hash1 ^= mixMurmur3x64_128Key1(Swar.getLong(array, index));
+            hash1 = (Long.rotateLeft(hash1, 27) + hash2) * 5 + 0x52DCE729;
+            hash2 ^= mixMurmur3x64_128Key2(Swar.getLong(array, index + Long.BYTES));
+            hash2 = (Long.rotateLeft(hash2, 31) + hash1) * 5 + 0x38495AB5;
+        }
+        if (index < end) {
+            long key1 = 0;
+            long key2 = 0;
+            for (int shift = 0; index < end; index++, shift += Byte.SIZE) {
+                if (shift < Long.SIZE) {
+                    key1 |= (array[index] & 0xFFL) << shift;
+                } else {
+                    key2 |= (array[index] & 0xFFL) << (shift - Long.SIZE);
+                }
+            }
+            hash1 ^= mixMurmur3x64_128Key1(key1);
+            hash2 ^= mixMurmur3x64_128Key2(key2);
+        }
+        hash1 ^= length;
+        hash2 ^= length;
+        hash1 += hash2;
+        hash2 += hash1;
+        hash1 = finishMurmur3x64_128(hash1);
+        hash2 = finishMurmur3x64_128(hash2);
+        hash1 += hash2;
+        hash2 += hash1;
+        return new long[] { hash1, hash2 };
+    }
+
+    /**
+     * Returns the 128 bits MurmurHash3 (x64_128) of the remaining bytes of a buffer (direct buffers are copied to a temporary array).
+     */
+    public static long[] murmur3x64_128(ByteBuffer buffer, int seed) {
+        if (buffer.hasArray()) {
+            return murmur3x64_128(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed);
+        }
+        byte[] array = remainingBytes(buffer);
+        return murmur3x64_128(array, 0, array.length, seed);
+    }
+
+    private static int mixMurmur3x86_32(int key) {
+        return Integer.rotateLeft(key * MURMUR3_32_C1, 15) * MURMUR3_32_C2;
+    }
+
+    private static long mixMurmur3x64_128Key1(long key) {
+        return Long.rotateLeft(key * MURMUR3_128_C1, 31) * MURMUR3_128_C2;
+    }
+
+    private static long mixMurmur3x64_128Key2(long key) {
+        return Long.rotateLeft(key * MURMUR3_128_C2, 33) * MURMUR3_128_C1;
+    }
+
+    private static long finishMurmur3x64_128(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static byte[] remainingBytes(ByteBuffer buffer) {
+        byte[] array = new byte[buffer.remaining()];
+        buffer.get(buffer.position(), array);
+        return array;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,497 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.util.Arrays;
+
+
+/**
+ * <p>Search engine used by {@link ArrayTools}. Single bytes are compared 32 bytes per iteration, as 4 words of 8 lanes (see {@link Swar}),
+ * then the remaining bytes one word or one byte at a time.</p>
+ * <p>Needles of several bytes are searched by scanning for their first byte and checking the rest of them when it is found, or with
+ * {@link HorspoolSearcher} when the needle and the range are long enough for its skip tables to pay off.</p>
+ * <p>The strategy is chosen once, when the class is loaded : the system property <code>org.devtoolbox.util.array.swar</code> set to
+ * <code>false</code> falls back to a plain loop comparing one byte at a time (for platforms where unaligned long reads are slow).</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+final class ByteSearch {
+
+    /** true to compare the bytes by words of 8 lanes, false to compare them one at a time */
+    static final boolean SWAR = Boolean.parseBoolean(System.getProperty("org.devtoolbox.util.array.swar", "true"));
+
+    private static final int BLOCK_SIZE = 4 * Long.BYTES;
+
+    /** minimum needle length for which Horspool shifts are long enough to beat the first byte scan */
+    static final int HORSPOOL_MINIMUM_NEEDLE_LENGTH = 4;
+
+    /** minimum range length for which building the Horspool skip tables pays off */
+    private static final int HORSPOOL_MINIMUM_RANGE_LENGTH = 256;
+
+    private ByteSearch() {
+    }
+
+    /**
+     * Returns the index of the first occurence of a byte in the range [fromIndex, toIndex[ of an array, or -1 if it is not found.
+     */
+    static int indexOf(byte[] array, byte value, int fromIndex, int toIndex) {
+        int index = fromIndex;
+        if (SWAR) {
+            // the lanes equal to the value are the zero lanes of the xor with the value in every lane
+            long pattern = Swar.broadcast(value);
+            for (; index <= toIndex - BLOCK_SIZE; index += BLOCK_SIZE) {
+                long matches0 = Swar.lowestZeroLanes(Swar.getLong(array, index) ^ pattern);
+                long matches1 = Swar.lowestZeroLanes(Swar.getLong(array, index + Long.BYTES) ^ pattern);
+                long matches2 = Swar.lowestZeroLanes(Swar.getLong(array, index + 2 * Long.BYTES) ^ pattern);
+                long matches3 = Swar.lowestZeroLanes(Swar.getLong(array, index + 3 * Long.BYTES) ^ pattern);
+                if ((matches0 | matches1 | matches2 | matches3) != 0) {
+                    return index + firstLane(matches0, matches1, matches2, matches3);
+                }
+            }
+            for (; index <= toIndex - Long.BYTES; index += Long.BYTES) {
+                long matches = Swar.lowestZeroLanes(Swar.getLong(array, index) ^ pattern);
+                if (matches != 0) {
+                    return index + (Long.numberOfTrailingZeros(matches) >>> 3);
+                }
+            }
+        }
+        for (; index < toIndex; index++) {
+            if (array[index] == value) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last occurence of a byte in the range [fromIndex, toIndex[ of an array, or -1 if it is not found.
+     */
+    static int lastIndexOf(byte[] array, byte value, int fromIndex, int toIndex) {
+        int index = toIndex;
+        if (SWAR) {
+            // the highest matching lane is needed here, so the masks must be exact for every lane
+            long pattern = Swar.broadcast(value);
+            for (; index >= fromIndex + BLOCK_SIZE; index -= BLOCK_SIZE) {
+                long matches0 = Swar.zeroLanes(Swar.getLong(array, index - BLOCK_SIZE) ^ pattern);
+                long matches1 = Swar.zeroLanes(Swar.getLong(array, index - 3 * Long.BYTES) ^ pattern);
+                long matches2 = Swar.zeroLanes(Swar.getLong(array, index - 2 * Long.BYTES) ^ pattern);
+                long matches3 = Swar.zeroLanes(Swar.getLong(array, index - Long.BYTES) ^ pattern);
+                if ((matches0 | matches1 | matches2 | matches3) != 0) {
+                    return index - 1 - lastLaneDistance(matches0, matches1, matches2, matches3);
+                }
+            }
+            for (; index >= fromIndex + Long.BYTES; index -= Long.BYTES) {
+                long matches = Swar.zeroLanes(Swar.getLong(array, index - Long.BYTES) ^ pattern);
+                if (matches != 0) {
+                    return index - 1 - (Long.numberOfLeadingZeros(matches) >>> 3);
+                }
+            }
+        }
+        while (--index >= fromIndex) {
+            if (array[index] == value) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first byte of the range [fromIndex, toIndex[ of an array that is equal to one of the values, or -1 if none
+     * is found. 2 and 3 values are compared by words, larger sets are looked up in a bitmap one byte at a time.
+     */
+    static int indexOfAny(byte[] array, byte[] values, int fromIndex, int toIndex) {
+        switch (values.length) {
+            case 0:
+                return -1;
+            case 1:
+                return indexOf(array, values[0], fromIndex, toIndex);
+            case 2:
+                return indexOfAny(array, values[0], values[1], values[1], fromIndex, toIndex);
+            case 3:
+                return indexOfAny(array, values[0], values[1], values[2], fromIndex, toIndex);
+            default:
+                long[] bitmap = bitmap(values);
+                for (int index = fromIndex; index < toIndex; index++) {
+                    if (contains(bitmap, array[index])) {
+                        return index;
+                    }
+                }
+                return -1;
+        }
+    }
+
+    /**
+     * Returns the index of the last byte of the range [fromIndex, toIndex[ of an array that is equal to one of the values, or -1 if none
+     * is found.
+     */
+    static int lastIndexOfAny(byte[] array, byte[] values, int fromIndex, int toIndex) {
+        switch (values.length) {
+            case 0:
+                return -1;
+            case 1:
+                return lastIndexOf(array, values[0], fromIndex, toIndex);
+            case 2:
+                return lastIndexOfAny(array, values[0], values[1], values[1], fromIndex, toIndex);
+            case 3:
+                return lastIndexOfAny(array, values[0], values[1], values[2], fromIndex, toIndex);
+            default:
+                long[] bitmap = bitmap(values);
+                for (int index = toIndex - 1; index >= fromIndex; index--) {
+                    if (contains(bitmap, array[index])) {
+                        return index;
+                    }
+                }
+                return -1;
+        }
+    }
+
+    /**
+     * Forward search of 3 values (2 values are searched by repeating one of them).
+     */
+    private static int indexOfAny(byte[] array, byte value0, byte value1, byte value2, int fromIndex, int toIndex) {
+        int index = fromIndex;
+        if (SWAR) {
+            // the lowest lane of each mask is exact, so is the lowest lane of their union
+            long pattern0 = Swar.broadcast(value0);
+            long pattern1 = Swar.broadcast(value1);
+            long pattern2 = Swar.broadcast(value2);
+            for (; index <= toIndex - BLOCK_SIZE; index += BLOCK_SIZE) {
+                long matches0 = lowestMatches(Swar.getLong(array, index), pattern0, pattern1, pattern2);
+                long matches1 = lowestMatches(Swar.getLong(array, index + Long.BYTES), pattern0, pattern1, pattern2);
+                long matches2 = lowestMatches(Swar.getLong(array, index + 2 * Long.BYTES), pattern0, pattern1, pattern2);
+                long matches3 = lowestMatches(Swar.getLong(array, index + 3 * Long.BYTES), pattern0, pattern1, pattern2);
+                if ((matches0 | matches1 | matches2 | matches3) != 0) {
+                    return index + firstLane(matches0, matches1, matches2, matches3);
+                }
+            }
+            for (; index <= toIndex - Long.BYTES; index += Long.BYTES) {
+                long matches = lowestMatches(Swar.getLong(array, index), pattern0, pattern1, pattern2);
+                if (matches != 0) {
+                    return index + (Long.numberOfTrailingZeros(matches) >>> 3);
+                }
+            }
+        }
+        for (; index < toIndex; index++) {
+            byte value = array[index];
+            if ((value == value0) || (value == value1) || (value == value2)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reverse search of 3 values (2 values are searched by repeating one of them).
+     */
+    private static int lastIndexOfAny(byte[] array, byte value0, byte value1, byte value2, int fromIndex, int toIndex) {
+        int index = toIndex;
+        if (SWAR) {
+            long pattern0 = Swar.broadcast(value0);
+            long pattern1 = Swar.broadcast(value1);
+            long pattern2 = Swar.broadcast(value2);
+            for (; index >= fromIndex + BLOCK_SIZE; index -= BLOCK_SIZE) {
+                long matches0 = matches(Swar.getLong(array, index - BLOCK_SIZE), pattern0, pattern1, pattern2);
+                long matches1 = matches(Swar.getLong(array, index - 3 * Long.BYTES), pattern0, pattern1, pattern2);
+                long matches2 = matches(Swar.getLong(array, index - 2 * Long.BYTES), pattern0, pattern1, pattern2);
+                long matches3 = matches(Swar.getLong(array, index - Long.BYTES), pattern0, pattern1, pattern2);
+                if ((matches0 | matches1 | matches2 | matches3) != 0) {
+                    return index - 1 - lastLaneDistance(matches0, matches1, matches2, matches3);
+                }
+            }
+            for (; index >= fromIndex + Long.BYTES; index -= Long.BYTES) {
+                long matches = matches(Swar.getLong(array, index - Long.BYTES), pattern0, pattern1, pattern2);
+                if (matches != 0) {
+                    return index - 1 - (Long.numberOfLeadingZeros(matches) >>> 3);
+                }
+            }
+        }
+        while (--index >= fromIndex) {
+            byte value = array[index];
+            if ((value == value0) || (value == value1) || (value == value2)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first byte of the range [fromIndex, toIndex[ of an array that is not equal to a value, or -1 if they all
+     * are (to skip padding).
+     */
+    static int indexOfNot(byte[] array, byte value, int fromIndex, int toIndex) {
+        int index = fromIndex;
+        if (SWAR) {
+            // the lanes different from the value are the non zero lanes of the xor, so the xor itself locates the first one
+            long pattern = Swar.broadcast(value);
+            for (; index <= toIndex - BLOCK_SIZE; index += BLOCK_SIZE) {
+                long differences0 = Swar.getLong(array, index) ^ pattern;
+                long differences1 = Swar.getLong(array, index + Long.BYTES) ^ pattern;
+                long differences2 = Swar.getLong(array, index + 2 * Long.BYTES) ^ pattern;
+                long differences3 = Swar.getLong(array, index + 3 * Long.BYTES) ^ pattern;
+                if ((differences0 | differences1 | differences2 | differences3) != 0) {
+                    return index + firstLane(differences0, differences1, differences2, differences3);
+                }
+            }
+            for (; index <= toIndex - Long.BYTES; index += Long.BYTES) {
+                long differences = Swar.getLong(array, index) ^ pattern;
+                if (differences != 0) {
+                    return index + (Long.numberOfTrailingZeros(differences) >>> 3);
+                }
+            }
+        }
+        for (; index < toIndex; index++) {
+            if (array[index] != value) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last byte of the range [fromIndex, toIndex[ of an array that is not equal to a value, or -1 if they all
+     * are (to trim padding).
+     */
+    static int lastIndexOfNot(byte[] array, byte value, int fromIndex, int toIndex) {
+        int index = toIndex;
+        if (SWAR) {
+            long pattern = Swar.broadcast(value);
+            for (; index >= fromIndex + BLOCK_SIZE; index -= BLOCK_SIZE) {
+                long differences0 = Swar.getLong(array, index - BLOCK_SIZE) ^ pattern;
+                long differences1 = Swar.getLong(array, index - 3 * Long.BYTES) ^ pattern;
+                long differences2 = Swar.getLong(array, index - 2 * Long.BYTES) ^ pattern;
+                long differences3 = Swar.getLong(array, index - Long.BYTES) ^ pattern;
+                if ((differences0 | differences1 | differences2 | differences3) != 0) {
+                    return index - 1 - lastLaneDistance(differences0, differences1, differences2, differences3);
+                }
+            }
+            for (; index >= fromIndex + Long.BYTES; index -= Long.BYTES) {
+                long differences = Swar.getLong(array, index - Long.BYTES) ^ pattern;
+                if (differences != 0) {
+                    return index - 1 - (Long.numberOfLeadingZeros(differences) >>> 3);
+                }
+            }
+        }
+        while (--index >= fromIndex) {
+            if (array[index] != value) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first byte of the range [fromIndex, toIndex[ of an array that is not equal to any of the values, or toIndex
+     * if they all are. Up to 3 values are compared by words, larger sets are looked up in a bitmap one byte at a time.
+     */
+    static int span(byte[] array, byte[] values, int fromIndex, int toIndex) {
+        switch (values.length) {
+            case 0:
+                return fromIndex;
+            case 1:
+                int other = indexOfNot(array, values[0], fromIndex, toIndex);
+                return (other < 0) ? toIndex : other;
+            case 2:
+                return span(array, values[0], values[1], values[1], fromIndex, toIndex);
+            case 3:
+                return span(array, values[0], values[1], values[2], fromIndex, toIndex);
+            default:
+                long[] bitmap = bitmap(values);
+                for (int index = fromIndex; index < toIndex; index++) {
+                    if (!contains(bitmap, array[index])) {
+                        return index;
+                    }
+                }
+                return toIndex;
+        }
+    }
+
+    /**
+     * Span of 3 values (2 values are handled by repeating one of them).
+     */
+    private static int span(byte[] array, byte value0, byte value1, byte value2, int fromIndex, int toIndex) {
+        int index = fromIndex;
+        if (SWAR) {
+            // exact masks are needed : the lanes outside of the set are the ones missing from the mask of the matches
+            long pattern0 = Swar.broadcast(value0);
+            long pattern1 = Swar.broadcast(value1);
+            long pattern2 = Swar.broadcast(value2);
+            for (; index <= toIndex - BLOCK_SIZE; index += BLOCK_SIZE) {
+                long others0 = matches(Swar.getLong(array, index), pattern0, pattern1, pattern2) ^ Swar.HIGH_BITS;
+                long others1 = matches(Swar.getLong(array, index + Long.BYTES), pattern0, pattern1, pattern2) ^ Swar.HIGH_BITS;
+                long others2 = matches(Swar.getLong(array, index + 2 * Long.BYTES), pattern0, pattern1, pattern2) ^ Swar.HIGH_BITS;
+                long others3 = matches(Swar.getLong(array, index + 3 * Long.BYTES), pattern0, pattern1, pattern2) ^ Swar.HIGH_BITS;
+                if ((others0 | others1 | others2 | others3) != 0) {
+                    return index + firstLane(others0, others1, others2, others3);
+                }
+            }
+            for (; index <= toIndex - Long.BYTES; index += Long.BYTES) {
+                long others = matches(Swar.getLong(array, index), pattern0, pattern1, pattern2) ^ Swar.HIGH_BITS;
+                if (others != 0) {
+                    return index + (Long.numberOfTrailingZeros(others) >>> 3);
+                }
+            }
+        }
+        for (; index < toIndex; index++) {
+            byte value = array[index];
+            if ((value != value0) && (value != value1) && (value != value2)) {
+                return index;
+            }
+        }
+        return toIndex;
+    }
+
+    /**
+     * @return the mask of the lanes of a word equal to one of 3 broadcast values, only exact for the lowest lane
+     */
+    private static long lowestMatches(long word, long pattern0, long pattern1, long pattern2) {
+        return Swar.lowestZeroLanes(word ^ pattern0) | Swar.lowestZeroLanes(word ^ pattern1) | Swar.lowestZeroLanes(word ^ pattern2);
+    }
+
+    /**
+     * @return the mask of the lanes of a word equal to one of 3 broadcast values, exact for every lane
+     */
+    private static long matches(long word, long pattern0, long pattern1, long pattern2) {
+        return Swar.zeroLanes(word ^ pattern0) | Swar.zeroLanes(word ^ pattern1) | Swar.zeroLanes(word ^ pattern2);
+    }
+
+    /**
+     * @return a set of bytes, as a bitmap of 256 bits
+     */
+    private static long[] bitmap(byte[] values) {
+        long[] bitmap = new long[4];
+        for (byte value : values) {
+            bitmap[(value & 0xFF) >>> 6] |= 1L << value;
+        }
+        return bitmap;
+    }
+
+    private static boolean contains(long[] bitmap, byte value) {
+        // the shift only uses the 6 lowest bits of the value
+        return (bitmap[(value & 0xFF) >>> 6] & (1L << value)) != 0;
+    }
+
+    /**
+     * Returns the index of the first occurence of a needle within the range [fromIndex, toIndex[ of an array, or -1 if it is not found.
+     * An empty needle is found at <code>fromIndex</code>, unless it is greater than <code>toIndex</code>.
+     */
+    static int indexOf(byte[] array, byte[] needle, int fromIndex, int toIndex) {
+        if (needle.length == 0) {
+            return (fromIndex <= toIndex) ? fromIndex : -1;
+        }
+        if (needle.length == 1) {
+            return indexOf(array, needle[0], fromIndex, toIndex);
+        }
+        if (useHorspool(needle, fromIndex, toIndex)) {
+            return HorspoolSearcher.indexOf(needle, HorspoolSearcher.forwardShifts(needle), array, fromIndex, toIndex);
+        }
+        return scanIndexOf(array, needle, fromIndex, toIndex);
+    }
+
+    /**
+     * Same as {@link #indexOf(byte[], byte[], int, int)} for needles of at least 2 bytes, scanning the range for the first byte of the
+     * needle and checking the rest of it when it is found.
+     */
+    static int scanIndexOf(byte[] array, byte[] needle, int fromIndex, int toIndex) {
+        int length = needle.length;
+        int lastPosition = toIndex - length;
+        for (int position = fromIndex; position <= lastPosition; position++) {
+            position = indexOf(array, needle[0], position, lastPosition + 1);
+            if (position < 0) {
+                break;
+            }
+            if (Arrays.equals(array, position + 1, position + length, needle, 1, length)) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last occurence of a needle within the range [fromIndex, toIndex[ of an array, or -1 if it is not found.
+     * An empty needle is found at <code>toIndex</code>, unless it is lower than <code>fromIndex</code>.
+     */
+    static int lastIndexOf(byte[] array, byte[] needle, int fromIndex, int toIndex) {
+        if (needle.length == 0) {
+            return (toIndex >= fromIndex) ? toIndex : -1;
+        }
+        if (needle.length == 1) {
+            return lastIndexOf(array, needle[0], fromIndex, toIndex);
+        }
+        if (useHorspool(needle, fromIndex, toIndex)) {
+            return HorspoolSearcher.lastIndexOf(needle, HorspoolSearcher.backwardShifts(needle), array, fromIndex, toIndex);
+        }
+        return scanLastIndexOf(array, needle, fromIndex, toIndex);
+    }
+
+    /**
+     * Same as {@link #lastIndexOf(byte[], byte[], int, int)} for needles of at least 2 bytes, scanning the range backwards for the first
+     * byte of the needle and checking the rest of it when it is found.
+     */
+    static int scanLastIndexOf(byte[] array, byte[] needle, int fromIndex, int toIndex) {
+        int length = needle.length;
+        // exclusive end of the positions left to check
+        int positionsEnd = toIndex - length + 1;
+        while (positionsEnd > fromIndex) {
+            int position = lastIndexOf(array, needle[0], fromIndex, positionsEnd);
+            if (position < 0) {
+                break;
+            }
+            if (Arrays.equals(array, position + 1, position + length, needle, 1, length)) {
+                return position;
+            }
+            positionsEnd = position;
+        }
+        return -1;
+    }
+
+    private static boolean useHorspool(byte[] needle, int fromIndex, int toIndex) {
+        return (needle.length >= HORSPOOL_MINIMUM_NEEDLE_LENGTH) && (toIndex - fromIndex >= HORSPOOL_MINIMUM_RANGE_LENGTH);
+    }
+
+    /**
+     * @return the index in the block of the first lane set in the masks of its 4 words (at least one of them is not 0)
+     */
+    private static int firstLane(long mask0, long mask1, long mask2, long mask3) {
+        if (mask0 != 0) {
+            return Long.numberOfTrailingZeros(mask0) >>> 3;
+        }
+        if (mask1 != 0) {
+            return Long.BYTES + (Long.numberOfTrailingZeros(mask1) >>> 3);
+        }
+        if (mask2 != 0) {
+            return 2 * Long.BYTES + (Long.numberOfTrailingZeros(mask2) >>> 3);
+        }
+        return 3 * Long.BYTES + (Long.numberOfTrailingZeros(mask3) >>> 3);
+    }
+
+    /**
+     * @return the distance from the end of the block of the last lane set in the masks of its 4 words (0 for the last lane of the block)
+     */
+    private static int lastLaneDistance(long mask0, long mask1, long mask2, long mask3) {
+        if (mask3 != 0) {
+            return Long.numberOfLeadingZeros(mask3) >>> 3;
+        }
+        if (mask2 != 0) {
+            return Long.BYTES + (Long.numberOfLeadingZeros(mask2) >>> 3);
+        }
+        if (mask1 != 0) {
+            return 2 * Long.BYTES + (Long.numberOfLeadingZeros(mask1) >>> 3);
+        }
+        return 3 * Long.BYTES + (Long.numberOfLeadingZeros(mask0) >>> 3);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,341 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+
+/**
+ * <p>Needle compiled once to be searched in many arrays or buffers, without rebuilding the skip tables or the factorization of the
+ * search algorithm on every call (in a delimiter loop for example) :</p>
+ * <pre>
+ * ByteSearcher boundary = ByteSearcher.compile(boundaryBytes);
+ * int index = boundary.indexOf(payload);
+ * </pre>
+ * <p>The algorithm is chosen from the length and the content of the needle : single bytes are searched 8 at a time, short needles by
+ * scanning for their first byte, needles made of 1 or 2 distinct bytes (whose Horspool shifts would be short) with Two-Way, and the
+ * others with Boyer-Moore-Horspool, falling back to Two-Way on adversarial inputs. The searches are linear in any case.</p>
+ * <p>The needle is copied by {@link #compile(byte[])}, instances are immutable and can be shared between threads. The methods reading
+ * a ByteBuffer search its remaining bytes without changing its position, and return absolute indexes in the buffer. Occurences found by
+ * {@link #countIn(byte[])} and {@link #findAll(byte[])} do not overlap, like the parts of {@link ArrayTools#split(ByteSearcher, byte[])}.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class ByteSearcher {
+
+    /** size of the chunks copied from the buffers that do not have an accessible array */
+    private static final int BUFFER_CHUNK_SIZE = 1 << 16;
+
+    private enum Algorithm {
+        SINGLE_BYTE, FIRST_BYTE_SCAN, HORSPOOL, TWO_WAY
+    }
+
+    private final byte[] needle;
+    private final Algorithm algorithm;
+    private final HorspoolSearcher horspoolSearcher;
+    private final TwoWaySearcher forwardTwoWaySearcher;
+    private final TwoWaySearcher backwardTwoWaySearcher;
+
+    private ByteSearcher(byte[] needle) {
+        this.needle = needle;
+        if (needle.length == 1) {
+            algorithm = Algorithm.SINGLE_BYTE;
+        } else if (needle.length < ByteSearch.HORSPOOL_MINIMUM_NEEDLE_LENGTH) {
+            algorithm = Algorithm.FIRST_BYTE_SCAN;
+        } else if (distinctBytes(needle) <= 2) {
+            algorithm = Algorithm.TWO_WAY;
+        } else {
+            algorithm = Algorithm.HORSPOOL;
+        }
+        horspoolSearcher = (algorithm == Algorithm.HORSPOOL) ? new HorspoolSearcher(needle) : null;
+        forwardTwoWaySearcher = (algorithm == Algorithm.TWO_WAY) ? new TwoWaySearcher(needle, false) : null;
+        backwardTwoWaySearcher = (algorithm == Algorithm.TWO_WAY) ? new TwoWaySearcher(needle, true) : null;
+    }
+
+    /**
+     * Compiles a needle (the array is copied, so it can be modified afterwards).
+     *
+     * @throws IllegalArgumentException if the needle is empty
+     */
+    public static ByteSearcher compile(byte[] needle) {
+        if (needle.length == 0) {
+            throw new IllegalArgumentException("the needle must not be empty");
+        }
+        return new ByteSearcher(needle.clone());
+    }
+
+    private static int distinctBytes(byte[] array) {
+        boolean[] seen = new boolean[256];
+        int count = 0;
+        for (byte value : array) {
+            if (!seen[value & 0xFF]) {
+                seen[value & 0xFF] = true;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of bytes of the needle.
+     */
+    public int length() {
+        return needle.length;
+    }
+
+    /**
+     * Returns a copy of the needle.
+     */
+    public byte[] needle() {
+        return needle.clone();
+    }
+
+    /**
+     * Returns the index of the first occurence of the needle in an array, or -1 if it is not found.
+     */
+    public int indexOf(byte[] array) {
+        return find(array, 0, array.length);
+    }
+
+    /**
+     * Returns the index of the first occurence of the needle within the range [fromIndex, toIndex[ of an array, or -1 if it is not found.
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public int indexOf(byte[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        return find(array, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the index of the first occurence of the needle in the remaining bytes of a buffer, or -1 if it is not found.
+     */
+    public int indexOf(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            int arrayOffset = buffer.arrayOffset();
+            int index = find(buffer.array(), arrayOffset + buffer.position(), arrayOffset + buffer.limit());
+            return (index < 0) ? -1 : index - arrayOffset;
+        }
+        int[] firstIndex = { -1 };
+        forEachMatch(buffer, true, index -> firstIndex[0] = index);
+        return firstIndex[0];
+    }
+
+    /**
+     * Returns the index of the last occurence of the needle in an array, or -1 if it is not found.
+     */
+    public int lastIndexOf(byte[] array) {
+        return findLast(array, 0, array.length);
+    }
+
+    /**
+     * Returns the index of the last occurence of the needle within the range [fromIndex, toIndex[ of an array, or -1 if it is not found.
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public int lastIndexOf(byte[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        return findLast(array, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the index of the last occurence of the needle in the remaining bytes of a buffer, or -1 if it is not found.
+     */
+    public int lastIndexOf(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            int arrayOffset = buffer.arrayOffset();
+            int index = findLast(buffer.array(), arrayOffset + buffer.position(), arrayOffset + buffer.limit());
+            return (index < 0) ? -1 : index - arrayOffset;
+        }
+        // chunks are copied from the end of the buffer, overlapping by the length of the needle - 1
+        byte[] chunk = new byte[Math.min(buffer.remaining(), Math.max(BUFFER_CHUNK_SIZE, 2 * needle.length))];
+        int end = buffer.limit();
+        while (end - buffer.position() >= needle.length) {
+            int count = Math.min(chunk.length, end - buffer.position());
+            buffer.get(end - count, chunk, 0, count);
+            int index = findLast(chunk, 0, count);
+            if (index >= 0) {
+                return end - count + index;
+            }
+            end -= count - (needle.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of occurences of the needle in an array (occurences do not overlap).
+     */
+    public int countIn(byte[] array) {
+        return forEachMatch(array, 0, array.length, null);
+    }
+
+    /**
+     * Returns the number of occurences of the needle within the range [fromIndex, toIndex[ of an array (occurences do not overlap).
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public int countIn(byte[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        return forEachMatch(array, fromIndex, toIndex, null);
+    }
+
+    /**
+     * Returns the number of occurences of the needle in the remaining bytes of a buffer (occurences do not overlap).
+     */
+    public int countIn(ByteBuffer buffer) {
+        return forEachMatch(buffer, false, null);
+    }
+
+    /**
+     * Returns the indexes of the occurences of the needle in an array, in increasing order (occurences do not overlap).
+     */
+    public int[] findAll(byte[] array) {
+        return findAll(array, 0, array.length);
+    }
+
+    /**
+     * Returns the indexes of the occurences of the needle within the range [fromIndex, toIndex[ of an array, in increasing order
+     * (occurences do not overlap).
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    public int[] findAll(byte[] array, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, array.length);
+        IndexList indexes = new IndexList();
+        forEachMatch(array, fromIndex, toIndex, indexes);
+        return indexes.toArray();
+    }
+
+    /**
+     * Returns the indexes of the occurences of the needle in the remaining bytes of a buffer, in increasing order (occurences do not
+     * overlap).
+     */
+    public int[] findAll(ByteBuffer buffer) {
+        IndexList indexes = new IndexList();
+        forEachMatch(buffer, false, indexes);
+        return indexes.toArray();
+    }
+
+    private int find(byte[] array, int fromIndex, int toIndex) {
+        switch (algorithm) {
+            case SINGLE_BYTE:
+                return ByteSearch.indexOf(array, needle[0], fromIndex, toIndex);
+            case FIRST_BYTE_SCAN:
+                return ByteSearch.scanIndexOf(array, needle, fromIndex, toIndex);
+            case HORSPOOL:
+                return horspoolSearcher.indexOf(array, fromIndex, toIndex);
+            default:
+                return forwardTwoWaySearcher.search(array, fromIndex, toIndex);
+        }
+    }
+
+    private int findLast(byte[] array, int fromIndex, int toIndex) {
+        switch (algorithm) {
+            case SINGLE_BYTE:
+                return ByteSearch.lastIndexOf(array, needle[0], fromIndex, toIndex);
+            case FIRST_BYTE_SCAN:
+                return ByteSearch.scanLastIndexOf(array, needle, fromIndex, toIndex);
+            case HORSPOOL:
+                return horspoolSearcher.lastIndexOf(array, fromIndex, toIndex);
+            default:
+                return backwardTwoWaySearcher.search(array, fromIndex, toIndex);
+        }
+    }
+
+    /**
+     * Finds the occurences of the needle in a range, each one starting after the end of the previous one.
+     *
+     * @param consumer receives the index of each occurence, may be null
+     * @return the number of occurences
+     */
+    private int forEachMatch(byte[] array, int fromIndex, int toIndex, IntConsumer consumer) {
+        int count = 0;
+        int index = fromIndex;
+        while ((index = find(array, index, toIndex)) >= 0) {
+            if (consumer != null) {
+                consumer.accept(index);
+            }
+            count++;
+            index += needle.length;
+        }
+        return count;
+    }
+
+    /**
+     * Same as {@link #forEachMatch(byte[], int, int, IntConsumer)} for the remaining bytes of a buffer (returning absolute indexes).
+     * Buffers without an accessible array are copied by chunks overlapping by the length of the needle - 1.
+     *
+     * @param firstOnly true to stop after the first occurence
+     */
+    private int forEachMatch(ByteBuffer buffer, boolean firstOnly, IntConsumer consumer) {
+        if (buffer.hasArray()) {
+            int arrayOffset = buffer.arrayOffset();
+            IntConsumer bufferConsumer = (consumer == null) ? null : index -> consumer.accept(index - arrayOffset);
+            return forEachMatch(buffer.array(), arrayOffset + buffer.position(), arrayOffset + buffer.limit(), bufferConsumer);
+        }
+        byte[] chunk = new byte[Math.min(buffer.remaining(), Math.max(BUFFER_CHUNK_SIZE, 2 * needle.length))];
+        int count = 0;
+        int start = buffer.position();
+        while (buffer.limit() - start >= needle.length) {
+            int chunkLength = Math.min(chunk.length, buffer.limit() - start);
+            buffer.get(start, chunk, 0, chunkLength);
+            // index in the chunk where the next occurence may start
+            int next = 0;
+            int index;
+            while ((index = find(chunk, next, chunkLength)) >= 0) {
+                if (consumer != null) {
+                    consumer.accept(start + index);
+                }
+                count++;
+                if (firstOnly) {
+                    return count;
+                }
+                next = index + needle.length;
+            }
+            if (start + chunkLength == buffer.limit()) {
+                break;
+            }
+            start += Math.max(next, chunkLength - (needle.length - 1));
+        }
+        return count;
+    }
+
+    /**
+     * Growable list of indexes, to avoid boxing them.
+     */
+    private static class IndexList implements IntConsumer {
+
+        private int[] indexes = new int[16];
+        private int size = 0;
+
+        @Override
+        public void accept(int index) {
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, 2 * size);
+            }
+            indexes[size++] = index;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(indexes, size);
+        }
+    }
+}
\ No newline at end of file
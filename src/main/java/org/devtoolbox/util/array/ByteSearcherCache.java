@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+/**
+ * <p>Cache of compiled {@link ByteSearcher}s, keyed by the content of their needle : searching again and again for the same dynamic
+ * needles (routing keys, delimiters read from a configuration...) then costs only a hash lookup instead of a compilation.</p>
+ * <p>The cache has a maximum number of entries and evicts the least recently used ones. It is thread-safe (its segments are locked
+ * separately), and meant to be shared, for example by all the byte[] needle searches of {@link ArrayTools} through
+ * {@link ArrayTools#setSearcherCache(ByteSearcherCache)}.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class ByteSearcherCache {
+
+    private final BoundedCache<ByteArrayKey, ByteSearcher> cache;
+
+    /**
+     * @param maximumSize the maximum number of compiled needles kept in the cache
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    public ByteSearcherCache(int maximumSize) {
+        cache = new BoundedCache<>(maximumSize);
+    }
+
+    /**
+     * Returns the compiled searcher for a needle, compiling it if it is not in the cache. The needle is only read during the call
+     * (the cache keeps its own copy).
+     *
+     * @throws IllegalArgumentException if the needle is empty (invalid needles are not cached)
+     */
+    public ByteSearcher get(byte[] needle) {
+        return cache.get(ByteArrayKey.wrap(needle), ByteArrayKey::copy, key -> ByteSearcher.compile(needle));
+    }
+
+    /**
+     * Returns the number of calls that found their searcher in the cache.
+     */
+    public long hitCount() {
+        return cache.hitCount();
+    }
+
+    /**
+     * Returns the number of calls that had to compile their needle.
+     */
+    public long missCount() {
+        return cache.missCount();
+    }
+
+    /**
+     * Returns the ratio of calls that found their searcher in the cache, between 0 and 1 (0 if the cache has not been used yet).
+     */
+    public double hitRate() {
+        long hitCount = cache.hitCount();
+        long total = hitCount + cache.missCount();
+        return (total == 0) ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Returns the number of compiled needles currently in the cache.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Removes all the compiled needles from the cache (the hit and miss counts are kept).
+     */
+    public void clear() {
+        cache.clear();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.nio.ByteBuffer;
+
+
+/**
+ * <p>Decodes hexadecimal Strings like {@link ArrayTools#hexToArray(String)}, keeping the results of the most recently used ones in a cache :
+ * decoding the same constants (keys, magic headers, salts...) again and again then costs only a hash lookup.</p>
+ * <p>The cache has a maximum number of entries and evicts the least recently used ones. It is thread-safe, and meant to be shared.
+ * The decoded arrays are never exposed : callers get either a copy or a read-only buffer.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class CachingHexDecoder {
+
+    private final BoundedCache<String, byte[]> cache;
+
+    /**
+     * @param maximumSize the maximum number of decoded Strings kept in the cache
+     * @throws IllegalArgumentException if the maximum size is not positive
+     */
+    public CachingHexDecoder(int maximumSize) {
+        cache = new BoundedCache<>(maximumSize);
+    }
+
+    /**
+     * Same as {@link ArrayTools#hexToArray(String)}, returning a copy of the cached result.
+     *
+     * @throws NumberFormatException if the input String is not a valid hexadecimal value (invalid inputs are not cached)
+     */
+    public byte[] hexToArray(String hexString) {
+        return cache.get(hexString, ArrayTools::hexToArray).clone();
+    }
+
+    /**
+     * Same as {@link ArrayTools#hexToArray(String)}, returning a read-only view of the cached result, which avoids copying it.
+     *
+     * @throws NumberFormatException if the input String is not a valid hexadecimal value (invalid inputs are not cached)
+     */
+    public ByteBuffer hexToBuffer(String hexString) {
+        return ByteBuffer.wrap(cache.get(hexString, ArrayTools::hexToArray)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the number of calls that found their result in the cache.
+     */
+    public long hitCount() {
+        return cache.hitCount();
+    }
+
+    /**
+     * Returns the number of calls that had to decode their input.
+     */
+    public long missCount() {
+        return cache.missCount();
+    }
+
+    /**
+     * Returns the number of decoded Strings currently in the cache.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Removes all the decoded Strings from the cache (the hit and miss counts are kept).
+     */
+    public void clear() {
+        cache.clear();
+    }
+}
\ No newline at end of file
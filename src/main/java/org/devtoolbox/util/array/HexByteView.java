@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.util.Objects;
+
+
+/**
+ * <p>Read-only view of the bytes represented by hexadecimal text, each byte being decoded when it is read : comparing the first bytes of a
+ * long hexadecimal value (a hash for example) does not decode the whole text.</p>
+ * <p>To access any byte directly, the text must contain only hexadecimal digits, without any whitespace. Like in
+ * {@link ArrayTools#hexToArray(String)}, if the number of digits is odd the first one is the low nibble of the first byte.
+ * The characters are checked only when the bytes are read.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class HexByteView {
+
+    private final CharSequence hexString;
+    private final int start;
+    private final int end;
+
+    /**
+     * Creates a view of the bytes represented by a text.
+     */
+    public HexByteView(CharSequence hexString) {
+        this(hexString, 0, hexString.length());
+    }
+
+    /**
+     * Creates a view of the bytes represented by a range of a text.
+     *
+     * @param hexString the text containing the hexadecimal digits
+     * @param start index of the first character of the range
+     * @param end index after the last character of the range
+     * @throws IndexOutOfBoundsException if the range is not within the text
+     */
+    public HexByteView(CharSequence hexString, int start, int end) {
+        this.hexString = hexString;
+        this.start = Objects.checkFromToIndex(start, end, hexString.length());
+        this.end = end;
+    }
+
+    /**
+     * Returns the number of bytes represented by the text.
+     */
+    public int length() {
+        return (end - start + 1) / 2;
+    }
+
+    /**
+     * Decodes one byte of the text.
+     *
+     * @throws IndexOutOfBoundsException if the index is not lower than the length
+     * @throws NumberFormatException if one of the two characters of the byte is not a hexadecimal digit
+     */
+    public byte byteAt(int index) {
+        Objects.checkIndex(index, length());
+        // with an odd number of digits, the first byte has only one digit
+        int lowIndex = start + 2 * index + 1 - ((end - start) & 1);
+        int low = HexCodec.digit(hexString.charAt(lowIndex));
+        if (low < 0) {
+            throw HexCodec.invalidCharacter(hexString, lowIndex);
+        }
+        if (lowIndex == start) {
+            return (byte) low;
+        }
+        int high = HexCodec.digit(hexString.charAt(lowIndex - 1));
+        if (high < 0) {
+            throw HexCodec.invalidCharacter(hexString, lowIndex - 1);
+        }
+        return (byte) ((high << 4) | low);
+    }
+
+    /**
+     * Decodes all the bytes of the text.
+     *
+     * @throws NumberFormatException if the text contains characters that are not hexadecimal digits
+     */
+    public byte[] toByteArray() {
+        byte[] result = new byte[length()];
+        for (int index = 0; index < result.length; index++) {
+            result[index] = byteAt(index);
+        }
+        return result;
+    }
+}
\ No newline at end of file
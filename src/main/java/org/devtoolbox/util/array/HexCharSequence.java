@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+
+/**
+ * <p>Hexadecimal representation of a range of a byte array, computed one character at a time when it is read : taking the first characters
+ * of the representation of a large array (to truncate a log line for example) does not convert the whole array.</p>
+ * <p>The array is not copied, so changes in the array are visible through the sequence. Sub sequences are views of the same array too.</p>
+ * <p>The length of a CharSequence being an int, the range represented is limited to <code>Integer.MAX_VALUE / 2</code> bytes.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class HexCharSequence implements CharSequence {
+
+    private final byte[] array;
+    /** index of the first character in the representation of the whole array, unsigned (it exceeds Integer.MAX_VALUE for large offsets) */
+    private final int start;
+    private final int length;
+    private final byte[] pairs;
+
+    /**
+     * Creates the upper case hexadecimal representation of an array.
+     */
+    public HexCharSequence(byte[] array) {
+        this(array, 0, array.length, true);
+    }
+
+    /**
+     * Creates the hexadecimal representation of a range of an array, two characters per byte.
+     *
+     * @param array the array to represent
+     * @param offset index of the first byte of the range
+     * @param length number of bytes of the range
+     * @param upperCase true to use upper case letters, false to use lower case ones
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     * @throws IllegalArgumentException if the range is longer than <code>Integer.MAX_VALUE / 2</code> bytes
+     */
+    public HexCharSequence(byte[] array, int offset, int length, boolean upperCase) {
+        this(array, 2 * checkRange(array, offset, length), 2 * length, HexCodec.pairs(upperCase));
+    }
+
+    /**
+     * @return the offset of the range, once checked
+     */
+    private static int checkRange(byte[] array, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, array.length);
+        if (length > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("the range is too long to be represented (" + length + " bytes)");
+        }
+        return offset;
+    }
+
+    private HexCharSequence(byte[] array, int start, int length, byte[] pairs) {
+        this.array = array;
+        this.start = start;
+        this.length = length;
+        this.pairs = pairs;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        int characterIndex = start + Objects.checkIndex(index, length);
+        // the pairs table holds the two characters of each byte, the index of the character in the pair is the parity of its index
+        return (char) pairs[((array[characterIndex >>> 1] & 0xFF) << 1) | (characterIndex & 1)];
+    }
+
+    @Override
+    public HexCharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return new HexCharSequence(array, this.start + start, end - start, pairs);
+    }
+
+    @Override
+    public String toString() {
+        byte[] characters = new byte[length];
+        for (int index = 0; index < length; index++) {
+            int characterIndex = start + index;
+            characters[index] = pairs[((array[characterIndex >>> 1] & 0xFF) << 1) | (characterIndex & 1)];
+        }
+        return new String(characters, StandardCharsets.ISO_8859_1);
+    }
+}
\ No newline at end of file
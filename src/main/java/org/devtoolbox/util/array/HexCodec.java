@@ -0,0 +1,489 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+
+/**
+ * Lookup tables and low level loops shared by the hexadecimal conversion methods.
+ *
+ * <p>The loops never throw on invalid input : they return a negative value (<code>-(index + 1)</code>, index being the position of the
+ * first invalid character) and let the caller decide how to report it.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+final class HexCodec {
+
+    /** value in {@link #DIGITS} for characters that are not hexadecimal digits */
+    static final byte INVALID = -1;
+
+    /** value in {@link #DIGITS} for the whitespaces that are ignored when decoding (space, tab, newline, carriage return) */
+    static final byte WHITESPACE = -2;
+
+    /** value of each hexadecimal digit for the first 256 characters, {@link #INVALID} or {@link #WHITESPACE} for the others */
+    static final byte[] DIGITS = new byte[256];
+
+    /** the two upper case hexadecimal characters of each byte value, indexed by <code>2 * (value &amp; 0xFF)</code> */
+    static final byte[] UPPER_CASE_PAIRS = new byte[512];
+
+    /** the two lower case hexadecimal characters of each byte value, indexed by <code>2 * (value &amp; 0xFF)</code> */
+    static final byte[] LOWER_CASE_PAIRS = new byte[512];
+
+    static {
+        byte[] upperCaseCharacters = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+        byte[] lowerCaseCharacters = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+        for (int value = 0; value < 256; value++) {
+            UPPER_CASE_PAIRS[2 * value] = upperCaseCharacters[value >>> 4];
+            UPPER_CASE_PAIRS[2 * value + 1] = upperCaseCharacters[value & 0x0F];
+            LOWER_CASE_PAIRS[2 * value] = lowerCaseCharacters[value >>> 4];
+            LOWER_CASE_PAIRS[2 * value + 1] = lowerCaseCharacters[value & 0x0F];
+        }
+
+        Arrays.fill(DIGITS, INVALID);
+        for (int value = 0; value < 10; value++) {
+            DIGITS['0' + value] = (byte) value;
+        }
+        for (int value = 10; value < 16; value++) {
+            DIGITS['a' + value - 10] = (byte) value;
+            DIGITS['A' + value - 10] = (byte) value;
+        }
+        DIGITS[' '] = WHITESPACE;
+        DIGITS['\t'] = WHITESPACE;
+        DIGITS['\n'] = WHITESPACE;
+        DIGITS['\r'] = WHITESPACE;
+    }
+
+    private HexCodec() {
+    }
+
+    /**
+     * Returns the value of a hexadecimal digit, {@link #INVALID} or {@link #WHITESPACE}.
+     */
+    static int digit(char character) {
+        return (character < 256) ? DIGITS[character] : INVALID;
+    }
+
+    /**
+     * Counts the hexadecimal digits between the specified indexes, ignoring whitespaces.
+     * The characters are checked 8 at a time, blocks containing whitespaces or invalid characters are checked one character at a time.
+     *
+     * @return the number of digits, or <code>-(index + 1)</code> if an invalid character is found
+     */
+    static int countDigits(CharSequence hexString, int fromIndex, int toIndex) {
+        int count = 0;
+        int index = fromIndex;
+        while (index < toIndex) {
+            if ((index + Long.BYTES <= toIndex) && (Swar.hexDigits(asciiWord(hexString, index)) != -1)) {
+                count += Long.BYTES;
+                index += Long.BYTES;
+                continue;
+            }
+            int blockEnd = Math.min(index + Long.BYTES, toIndex);
+            for (; index < blockEnd; index++) {
+                int value = digit(hexString.charAt(index));
+                if (value >= 0) {
+                    count++;
+                } else if (value == INVALID) {
+                    return -(index + 1);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Decodes the hexadecimal digits between the specified indexes, which must have been validated by {@link #countDigits}.
+     * If the number of digits is odd, the first one is used as the low nibble of the first byte.
+     * The characters are decoded 8 at a time, blocks containing whitespaces are decoded one character at a time.
+     *
+     * @return the number of bytes written
+     */
+    static int decode(CharSequence hexString, int fromIndex, int toIndex, int digitCount, byte[] destination, int destinationOffset) {
+        int destinationIndex = destinationOffset;
+        int high = ((digitCount & 1) == 0) ? -1 : 0;
+        int index = fromIndex;
+        while (index < toIndex) {
+            if (index + Long.BYTES <= toIndex) {
+                long nibbles = Swar.hexDigits(asciiWord(hexString, index));
+                if (nibbles != -1) {
+                    high = putNibbles(nibbles, high, destination, destinationIndex);
+                    destinationIndex += Integer.BYTES;
+                    index += Long.BYTES;
+                    continue;
+                }
+            }
+            int blockEnd = Math.min(index + Long.BYTES, toIndex);
+            for (; index < blockEnd; index++) {
+                int value = digit(hexString.charAt(index));
+                if (value < 0) {
+                    continue;
+                }
+                if (high < 0) {
+                    high = value;
+                } else {
+                    destination[destinationIndex++] = (byte) ((high << 4) | value);
+                    high = -1;
+                }
+            }
+        }
+        return destinationIndex - destinationOffset;
+    }
+
+    /**
+     * <p>Decodes the hexadecimal digits of a chunk of the input, which must have been validated by {@link #countDigits}.</p>
+     * <p>The digit indexes are counted from the start of the whole input, plus one if its number of digits is odd (the first digit then
+     * has the index 1, index 0 being the implicit zero high nibble of the first byte). The byte at index <code>digitIndex / 2</code>
+     * is written by the chunk containing its high nibble : if it is the last digit of the chunk, the low one is read after the end of the
+     * chunk, and the first digit of the next chunk is skipped. A chunk without digits writes nothing.</p>
+     *
+     * @param firstDigitIndex the index of the first digit of the chunk
+     * @param padded true if the number of digits of the whole input is odd
+     */
+    static void decodeChunk(CharSequence hexString, int fromIndex, int toIndex, int firstDigitIndex, boolean padded, byte[] destination) {
+        int digitIndex = firstDigitIndex;
+        int high = (padded && (digitIndex == 1)) ? 0 : -1;
+        int index = fromIndex;
+        for (; index < toIndex; index++) {
+            int value = digit(hexString.charAt(index));
+            if (value < 0) {
+                continue;
+            }
+            if ((digitIndex & 1) == 0) {
+                high = value;
+            } else if (high >= 0) {
+                destination[digitIndex >> 1] = (byte) ((high << 4) | value);
+            }
+            digitIndex++;
+        }
+        if (((digitIndex & 1) == 1) && (digitIndex > firstDigitIndex)) {
+            // the last digit of the chunk is a high nibble, look for the low one in the next chunks
+            for (; index < hexString.length(); index++) {
+                int value = digit(hexString.charAt(index));
+                if (value >= 0) {
+                    destination[digitIndex >> 1] = (byte) ((high << 4) | value);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #countDigits(CharSequence, int, int)}, for a char array.
+     */
+    static int countDigits(char[] characters, int fromIndex, int toIndex) {
+        int count = 0;
+        int index = fromIndex;
+        while (index < toIndex) {
+            if ((index + Long.BYTES <= toIndex) && (Swar.hexDigits(asciiWord(characters, index)) != -1)) {
+                count += Long.BYTES;
+                index += Long.BYTES;
+                continue;
+            }
+            int blockEnd = Math.min(index + Long.BYTES, toIndex);
+            for (; index < blockEnd; index++) {
+                int value = digit(characters[index]);
+                if (value >= 0) {
+                    count++;
+                } else if (value == INVALID) {
+                    return -(index + 1);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Same as {@link #decode(CharSequence, int, int, int, byte[], int)}, for a char array.
+     */
+    static int decode(char[] characters, int fromIndex, int toIndex, int digitCount, byte[] destination, int destinationOffset) {
+        int destinationIndex = destinationOffset;
+        int high = ((digitCount & 1) == 0) ? -1 : 0;
+        int index = fromIndex;
+        while (index < toIndex) {
+            if (index + Long.BYTES <= toIndex) {
+                long nibbles = Swar.hexDigits(asciiWord(characters, index));
+                if (nibbles != -1) {
+                    high = putNibbles(nibbles, high, destination, destinationIndex);
+                    destinationIndex += Integer.BYTES;
+                    index += Long.BYTES;
+                    continue;
+                }
+            }
+            int blockEnd = Math.min(index + Long.BYTES, toIndex);
+            for (; index < blockEnd; index++) {
+                int value = digit(characters[index]);
+                if (value < 0) {
+                    continue;
+                }
+                if (high < 0) {
+                    high = value;
+                } else {
+                    destination[destinationIndex++] = (byte) ((high << 4) | value);
+                    high = -1;
+                }
+            }
+        }
+        return destinationIndex - destinationOffset;
+    }
+
+    /**
+     * Same as {@link #countDigits(CharSequence, int, int)}, for ASCII characters stored in a byte array.
+     * The characters are checked 8 at a time, blocks containing whitespaces or invalid characters are checked one character at a time.
+     */
+    static int countDigits(byte[] asciiCharacters, int fromIndex, int toIndex) {
+        int count = 0;
+        int index = fromIndex;
+        while (index < toIndex) {
+            if ((index + Long.BYTES <= toIndex) && (Swar.hexDigits(Swar.getLong(asciiCharacters, index)) != -1)) {
+                count += Long.BYTES;
+                index += Long.BYTES;
+                continue;
+            }
+            int blockEnd = Math.min(index + Long.BYTES, toIndex);
+            for (; index < blockEnd; index++) {
+                int value = DIGITS[asciiCharacters[index] & 0xFF];
+                if (value >= 0) {
+                    count++;
+                } else if (value == INVALID) {
+                    return -(index + 1);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Same as {@link #decode(CharSequence, int, int, int, byte[], int)}, for ASCII characters stored in a byte array.
+     */
+    static int decode(byte[] asciiCharacters, int fromIndex, int toIndex, int digitCount, byte[] destination, int destinationOffset) {
+        int high = ((digitCount & 1) == 0) ? -1 : 0;
+        return (int) (decodeBlock(asciiCharacters, fromIndex, toIndex, high, destination, destinationOffset) >>> 32);
+    }
+
+    /**
+     * <p>Decodes validated ASCII hexadecimal digits, the input being possibly one block of a larger one.</p>
+     * <p>The characters are decoded 8 at a time, blocks containing whitespaces are decoded one character at a time.</p>
+     *
+     * @param high the high nibble of the first byte if it was the last digit of the previous block, -1 otherwise
+     * @return the number of bytes written in the 32 high bits, and in the 32 low bits the high nibble that is waiting for its low one at the
+     *         end of the block (-1 if none)
+     */
+    static long decodeBlock(byte[] asciiCharacters, int fromIndex, int toIndex, int high, byte[] destination, int destinationOffset) {
+        int destinationIndex = destinationOffset;
+        int index = fromIndex;
+        while (index < toIndex) {
+            if (index + Long.BYTES <= toIndex) {
+                long nibbles = Swar.hexDigits(Swar.getLong(asciiCharacters, index));
+                if (nibbles != -1) {
+                    high = putNibbles(nibbles, high, destination, destinationIndex);
+                    destinationIndex += Integer.BYTES;
+                    index += Long.BYTES;
+                    continue;
+                }
+            }
+            int blockEnd = Math.min(index + Long.BYTES, toIndex);
+            for (; index < blockEnd; index++) {
+                int value = DIGITS[asciiCharacters[index] & 0xFF];
+                if (value < 0) {
+                    continue;
+                }
+                if (high < 0) {
+                    high = value;
+                } else {
+                    destination[destinationIndex++] = (byte) ((high << 4) | value);
+                    high = -1;
+                }
+            }
+        }
+        return ((long) (destinationIndex - destinationOffset) << 32) | (high & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Same as {@link #countDigits(CharSequence, int, int)}, for ASCII characters stored in a buffer (absolute indexes).
+     */
+    static int countDigits(ByteBuffer asciiCharacters, int fromIndex, int toIndex) {
+        if (asciiCharacters.hasArray()) {
+            int arrayOffset = asciiCharacters.arrayOffset();
+            int count = countDigits(asciiCharacters.array(), arrayOffset + fromIndex, arrayOffset + toIndex);
+            return (count < 0) ? count + arrayOffset : count;
+        }
+        boolean bigEndian = asciiCharacters.order() == ByteOrder.BIG_ENDIAN;
+        int count = 0;
+        int index = fromIndex;
+        while (index < toIndex) {
+            if ((index + Long.BYTES <= toIndex) && (Swar.hexDigits(asciiWord(asciiCharacters, index, bigEndian)) != -1)) {
+                count += Long.BYTES;
+                index += Long.BYTES;
+                continue;
+            }
+            int blockEnd = Math.min(index + Long.BYTES, toIndex);
+            for (; index < blockEnd; index++) {
+                int value = DIGITS[asciiCharacters.get(index) & 0xFF];
+                if (value >= 0) {
+                    count++;
+                } else if (value == INVALID) {
+                    return -(index + 1);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Same as {@link #decode(CharSequence, int, int, int, byte[], int)}, for ASCII characters stored in a buffer (absolute indexes).
+     */
+    static int decode(ByteBuffer asciiCharacters, int fromIndex, int toIndex, int digitCount, byte[] destination, int destinationOffset) {
+        if (asciiCharacters.hasArray()) {
+            int arrayOffset = asciiCharacters.arrayOffset();
+            return decode(asciiCharacters.array(), arrayOffset + fromIndex, arrayOffset + toIndex, digitCount, destination, destinationOffset);
+        }
+        boolean bigEndian = asciiCharacters.order() == ByteOrder.BIG_ENDIAN;
+        int destinationIndex = destinationOffset;
+        int high = ((digitCount & 1) == 0) ? -1 : 0;
+        int index = fromIndex;
+        while (index < toIndex) {
+            if (index + Long.BYTES <= toIndex) {
+                long nibbles = Swar.hexDigits(asciiWord(asciiCharacters, index, bigEndian));
+                if (nibbles != -1) {
+                    high = putNibbles(nibbles, high, destination, destinationIndex);
+                    destinationIndex += Integer.BYTES;
+                    index += Long.BYTES;
+                    continue;
+                }
+            }
+            int blockEnd = Math.min(index + Long.BYTES, toIndex);
+            for (; index < blockEnd; index++) {
+                int value = DIGITS[asciiCharacters.get(index) & 0xFF];
+                if (value < 0) {
+                    continue;
+                }
+                if (high < 0) {
+                    high = value;
+                } else {
+                    destination[destinationIndex++] = (byte) ((high << 4) | value);
+                    high = -1;
+                }
+            }
+        }
+        return destinationIndex - destinationOffset;
+    }
+
+    /**
+     * Writes the 4 bytes of 8 nibble values (as returned by {@link Swar#hexDigits}), after the pending high nibble if there is one.
+     *
+     * @param high the high nibble of the first byte if it was the last digit before the block, -1 otherwise
+     * @return the high nibble that is waiting for its low one after the block (-1 if none)
+     */
+    private static int putNibbles(long nibbles, int high, byte[] destination, int destinationIndex) {
+        if (high < 0) {
+            Swar.putInt(destination, destinationIndex, Swar.packNibbles(nibbles));
+            return -1;
+        }
+        // the pending nibble is the high one of the first byte, the last digit of the block becomes the pending one
+        Swar.putInt(destination, destinationIndex, Swar.packNibbles((nibbles << 8) | high));
+        return (int) (nibbles >>> 56);
+    }
+
+    /**
+     * Packs 8 characters in the lanes of a word, like {@link Swar#getLong} does for ASCII bytes.
+     *
+     * @return the word, or -1 (rejected by {@link Swar#hexDigits}) if one of the characters is not ASCII
+     */
+    private static long asciiWord(CharSequence characters, int index) {
+        long word = 0;
+        int bits = 0;
+        for (int lane = 0; lane < Long.BYTES; lane++) {
+            char character = characters.charAt(index + lane);
+            bits |= character;
+            word |= (long) character << (lane * Byte.SIZE);
+        }
+        return (bits < 0x80) ? word : -1;
+    }
+
+    /**
+     * Same as {@link #asciiWord(CharSequence, int)}, for a char array.
+     */
+    private static long asciiWord(char[] characters, int index) {
+        long word = 0;
+        int bits = 0;
+        for (int lane = 0; lane < Long.BYTES; lane++) {
+            char character = characters[index + lane];
+            bits |= character;
+            word |= (long) character << (lane * Byte.SIZE);
+        }
+        return (bits < 0x80) ? word : -1;
+    }
+
+    /**
+     * Reads 8 ASCII characters of a buffer (absolute index) in the lanes of a word, like {@link Swar#getLong} does for a byte array.
+     */
+    private static long asciiWord(ByteBuffer asciiCharacters, int index, boolean bigEndian) {
+        long word = asciiCharacters.getLong(index);
+        return bigEndian ? Long.reverseBytes(word) : word;
+    }
+
+    static byte[] pairs(boolean upperCase) {
+        return upperCase ? UPPER_CASE_PAIRS : LOWER_CASE_PAIRS;
+    }
+
+    /**
+     * Encodes the bytes of the source range as ASCII hexadecimal characters, two per byte.
+     * The bytes are encoded 4 at a time, the remaining ones through the pairs table.
+     */
+    static void encode(byte[] source, int offset, int length, byte[] destination, int destinationOffset, byte[] pairs) {
+        int letterOffset = (pairs == UPPER_CASE_PAIRS) ? 'A' - '0' - 10 : 'a' - '0' - 10;
+        int destinationIndex = destinationOffset;
+        int index = offset;
+        for (; index + Integer.BYTES <= offset + length; index += Integer.BYTES) {
+            Swar.putLong(destination, destinationIndex, Swar.hexCharacters(Swar.getInt(source, index), letterOffset));
+            destinationIndex += Long.BYTES;
+        }
+        for (; index < offset + length; index++) {
+            int pairIndex = (source[index] & 0xFF) << 1;
+            destination[destinationIndex++] = pairs[pairIndex];
+            destination[destinationIndex++] = pairs[pairIndex + 1];
+        }
+    }
+
+    /**
+     * Encodes the bytes of the source range as hexadecimal characters, two per byte.
+     */
+    static void encode(byte[] source, int offset, int length, char[] destination, int destinationOffset, byte[] pairs) {
+        int destinationIndex = destinationOffset;
+        for (int index = offset; index < offset + length; index++) {
+            int pairIndex = (source[index] & 0xFF) << 1;
+            destination[destinationIndex++] = (char) pairs[pairIndex];
+            destination[destinationIndex++] = (char) pairs[pairIndex + 1];
+        }
+    }
+
+    /**
+     * Builds the exception thrown by the public methods when an invalid character is found.
+     */
+    static NumberFormatException invalidCharacter(CharSequence hexString, int index) {
+        return invalidCharacter(hexString.charAt(index), index);
+    }
+
+    static NumberFormatException invalidCharacter(char character, int index) {
+        return new NumberFormatException("invalid hexadecimal character '" + character + "' at index " + index);
+    }
+}
\ No newline at end of file
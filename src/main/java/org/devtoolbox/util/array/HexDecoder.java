@@ -0,0 +1,186 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+
+/**
+ * <p>InputStream decoding hexadecimal text read from a Reader, an InputStream (ASCII characters) or a ReadableByteChannel.</p>
+ * <p>The text is read in chunks of bounded size, so the memory used does not depend on the size of the input.
+ * Like {@link ArrayTools#hexToArray(String)}, whitespaces (spaces, tabs, newlines) are ignored, even between the two digits of a byte.
+ * Unlike it, the number of digits must be even, as the first byte is returned before the end of the input is known.</p>
+ * <p>Invalid characters are reported with an IOException giving their position in the input.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class HexDecoder extends InputStream {
+
+    private static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final Reader reader;
+    private final InputStream inputStream;
+    private final ReadableByteChannel channel;
+
+    /** values of the characters of the current chunk, as given by {@link HexCodec#digit} */
+    private final byte[] values;
+    private final char[] characters;
+    private final ByteBuffer channelBuffer;
+    private final byte[] singleByte = new byte[1];
+
+    private int valuesIndex = 0;
+    private int valuesLimit = 0;
+    /** position in the input of the first character of the current chunk */
+    private long chunkPosition = 0;
+    /** high nibble read at the end of a chunk, -1 if the next digit is the high nibble of a byte */
+    private int pendingHigh = -1;
+    private boolean endOfInput = false;
+
+    /**
+     * Creates a decoder reading the hexadecimal text from a Reader.
+     */
+    public HexDecoder(Reader reader) {
+        this(Objects.requireNonNull(reader), null, null, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a decoder reading the hexadecimal text from an InputStream, one ASCII character per byte.
+     */
+    public HexDecoder(InputStream inputStream) {
+        this(null, Objects.requireNonNull(inputStream), null, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a decoder reading the hexadecimal text from a blocking channel, one ASCII character per byte.
+     */
+    public HexDecoder(ReadableByteChannel channel) {
+        this(null, null, Objects.requireNonNull(channel), DEFAULT_CHUNK_SIZE);
+    }
+
+    HexDecoder(Reader reader, InputStream inputStream, ReadableByteChannel channel, int chunkSize) {
+        this.reader = reader;
+        this.inputStream = inputStream;
+        this.channel = channel;
+        this.values = new byte[chunkSize];
+        this.characters = (reader != null) ? new char[chunkSize] : null;
+        this.channelBuffer = (channel != null) ? ByteBuffer.wrap(values) : null;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return (read(singleByte, 0, 1) == -1) ? -1 : (singleByte[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+        int bufferIndex = offset;
+        int bufferLimit = offset + length;
+        while (bufferIndex < bufferLimit) {
+            if ((valuesIndex == valuesLimit) && ((bufferIndex != offset) || !fill())) {
+                // return what is available rather than blocking on the next chunk
+                break;
+            }
+            while ((valuesIndex < valuesLimit) && (bufferIndex < bufferLimit)) {
+                int value = values[valuesIndex];
+                if (value < 0) {
+                    if (value == HexCodec.INVALID) {
+                        throw new IOException("invalid hexadecimal character at position " + (chunkPosition + valuesIndex));
+                    }
+                } else if (pendingHigh < 0) {
+                    pendingHigh = value;
+                } else {
+                    buffer[bufferIndex++] = (byte) ((pendingHigh << 4) | value);
+                    pendingHigh = -1;
+                }
+                valuesIndex++;
+            }
+        }
+        if (bufferIndex == offset) {
+            if (pendingHigh >= 0) {
+                throw new IOException("odd number of hexadecimal digits");
+            }
+            return -1;
+        }
+        return bufferIndex - offset;
+    }
+
+    /**
+     * Reads the next chunk of the input, converting each character to its value.
+     *
+     * @return false if the end of the input has been reached
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        chunkPosition += valuesLimit;
+        valuesIndex = 0;
+        valuesLimit = 0;
+        int count = readChunk();
+        if (count == -1) {
+            endOfInput = true;
+            return false;
+        }
+        if (characters != null) {
+            for (int index = 0; index < count; index++) {
+                values[index] = (byte) HexCodec.digit(characters[index]);
+            }
+        } else {
+            for (int index = 0; index < count; index++) {
+                values[index] = HexCodec.DIGITS[values[index] & 0xFF];
+            }
+        }
+        valuesLimit = count;
+        return true;
+    }
+
+    private int readChunk() throws IOException {
+        int count;
+        do {
+            if (reader != null) {
+                count = reader.read(characters, 0, characters.length);
+            } else if (inputStream != null) {
+                count = inputStream.read(values, 0, values.length);
+            } else {
+                channelBuffer.clear();
+                count = channel.read(channelBuffer);
+            }
+        } while (count == 0);
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+        } else if (inputStream != null) {
+            inputStream.close();
+        } else {
+            channel.close();
+        }
+    }
+}
\ No newline at end of file
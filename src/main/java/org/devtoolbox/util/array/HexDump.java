@@ -0,0 +1,311 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+
+/**
+ * <p>Formats bytes like the xxd tool, and parses this format back to bytes :</p>
+ * <pre>
+ * 00000000: 4865 6c6c 6f2c 2077 6f72 6c64 210a 5468  Hello, world!.Th
+ * 00000010: 6973 2069 7320 6120 7465 7374 0001 ff    is is a test...
+ * </pre>
+ * <p>The dump is written one line at a time to an Appendable or an OutputStream (as ASCII characters), so large inputs can be dumped
+ * without building the whole text in memory.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class HexDump {
+
+    /** the default format of xxd : 16 bytes per line, in groups of 2 bytes, lower case, with the ASCII gutter */
+    public static final HexDump XXD = new HexDump(16, 2, true, false);
+
+    private static final int MINIMUM_OFFSET_DIGITS = 8;
+    private static final int MAXIMUM_OFFSET_DIGITS = 16;
+
+    private final int bytesPerLine;
+    private final int groupSize;
+    private final boolean asciiGutter;
+    private final byte[] pairs;
+
+    /**
+     * @param bytesPerLine number of bytes displayed on each line
+     * @param groupSize number of bytes between two spaces in the hexadecimal column, 0 for no spaces at all
+     * @param asciiGutter true to display the printable ASCII characters at the end of each line
+     * @param upperCase true to use upper case letters, false to use lower case ones
+     * @throws IllegalArgumentException if the number of bytes per line is not positive or the group size is negative
+     */
+    public HexDump(int bytesPerLine, int groupSize, boolean asciiGutter, boolean upperCase) {
+        if (bytesPerLine <= 0) {
+            throw new IllegalArgumentException("the number of bytes per line must be positive");
+        }
+        if (groupSize < 0) {
+            throw new IllegalArgumentException("the group size must not be negative");
+        }
+        this.bytesPerLine = bytesPerLine;
+        this.groupSize = groupSize;
+        this.asciiGutter = asciiGutter;
+        this.pairs = HexCodec.pairs(upperCase);
+    }
+
+    /**
+     * Writes the dump of a range of an array, the offset column starting at 0.
+     */
+    public void write(byte[] array, int offset, int length, Appendable output) throws IOException {
+        write(array, offset, length, new LineWriter(output));
+    }
+
+    /**
+     * Writes the dump of a range of an array as ASCII characters, the offset column starting at 0.
+     */
+    public void write(byte[] array, int offset, int length, OutputStream output) throws IOException {
+        write(array, offset, length, new LineWriter(output));
+    }
+
+    /**
+     * Writes the dump of all the bytes read from an InputStream, one line at a time.
+     */
+    public void write(InputStream input, Appendable output) throws IOException {
+        write(input, new LineWriter(output));
+    }
+
+    /**
+     * Writes the dump of all the bytes read from an InputStream as ASCII characters, one line at a time.
+     */
+    public void write(InputStream input, OutputStream output) throws IOException {
+        write(input, new LineWriter(output));
+    }
+
+    /**
+     * Returns the dump of an array as a String, which is convenient for small arrays (in log messages for example).
+     */
+    public String toString(byte[] array) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            write(array, 0, array.length, builder);
+        } catch (IOException exception) {
+            // not thrown by StringBuilder
+            throw new UncheckedIOException(exception);
+        }
+        return builder.toString();
+    }
+
+    private void write(byte[] array, int offset, int length, LineWriter lineWriter) throws IOException {
+        Objects.checkFromIndexSize(offset, length, array.length);
+        byte[] line = new byte[lineLength()];
+        for (int position = 0; position < length; position += bytesPerLine) {
+            int lineLength = formatLine(array, offset + position, Math.min(bytesPerLine, length - position), position, line);
+            lineWriter.write(line, lineLength);
+        }
+    }
+
+    private void write(InputStream input, LineWriter lineWriter) throws IOException {
+        byte[] bytes = new byte[bytesPerLine];
+        byte[] line = new byte[lineLength()];
+        long position = 0;
+        int count;
+        while ((count = input.readNBytes(bytes, 0, bytesPerLine)) > 0) {
+            lineWriter.write(line, formatLine(bytes, 0, count, position, line));
+            position += count;
+        }
+    }
+
+    private int lineLength() {
+        int separatorCount = (groupSize == 0) ? 0 : (bytesPerLine - 1) / groupSize;
+        return MAXIMUM_OFFSET_DIGITS + 2 + (bytesPerLine * 2) + separatorCount + 2 + bytesPerLine + 1;
+    }
+
+    /**
+     * Formats one line of the dump as ASCII characters.
+     *
+     * @return the number of characters of the line, including the final newline
+     */
+    private int formatLine(byte[] array, int offset, int length, long position, byte[] line) {
+        int index = 0;
+        int offsetDigits = Math.max(MINIMUM_OFFSET_DIGITS, (Long.SIZE - Long.numberOfLeadingZeros(position) + 3) / 4);
+        for (int shift = (offsetDigits - 1) * 4; shift >= 0; shift -= 4) {
+            line[index++] = pairs[(((int) (position >>> shift) & 0x0F) << 1) + 1];
+        }
+        line[index++] = ':';
+        line[index++] = ' ';
+        for (int byteIndex = 0; byteIndex < bytesPerLine; byteIndex++) {
+            if ((byteIndex != 0) && (groupSize != 0) && ((byteIndex % groupSize) == 0)) {
+                line[index++] = ' ';
+            }
+            if (byteIndex < length) {
+                int pairIndex = (array[offset + byteIndex] & 0xFF) << 1;
+                line[index++] = pairs[pairIndex];
+                line[index++] = pairs[pairIndex + 1];
+            } else {
+                line[index++] = ' ';
+                line[index++] = ' ';
+            }
+        }
+        if (asciiGutter) {
+            line[index++] = ' ';
+            line[index++] = ' ';
+            for (int byteIndex = 0; byteIndex < length; byteIndex++) {
+                byte value = array[offset + byteIndex];
+                line[index++] = ((value >= 0x20) && (value < 0x7F)) ? value : (byte) '.';
+            }
+        } else {
+            while (line[index - 1] == ' ') {
+                index--;
+            }
+        }
+        line[index++] = '\n';
+        return index;
+    }
+
+    /**
+     * <p>Parses a dump in the format written by this class or by xxd (with any number of bytes per line and group size).</p>
+     * <p>The offset column (up to the first ':' of each line) is ignored, the bytes of the lines are simply concatenated.
+     * The hexadecimal column ends at the first two consecutive spaces, so the ASCII gutter is ignored too.</p>
+     *
+     * @throws NumberFormatException if one of the lines is not valid
+     */
+    public static byte[] parse(CharSequence dump) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(dump.length() / 4);
+        byte[] lineBytes = new byte[0];
+        int lineStart = 0;
+        while (lineStart < dump.length()) {
+            int lineEnd = lineStart;
+            while ((lineEnd < dump.length()) && (dump.charAt(lineEnd) != '\n')) {
+                lineEnd++;
+            }
+            if (lineBytes.length < (lineEnd - lineStart) / 2) {
+                lineBytes = new byte[(lineEnd - lineStart) / 2];
+            }
+            output.write(lineBytes, 0, parseLine(dump, lineStart, lineEnd, lineBytes));
+            lineStart = lineEnd + 1;
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Same as {@link #parse(CharSequence)}, reading the dump one line at a time and writing the bytes to an OutputStream.
+     *
+     * @throws IOException if one of the lines is not valid, or if the input or output fails
+     */
+    public static void parse(Reader input, OutputStream output) throws IOException {
+        BufferedReader reader = (input instanceof BufferedReader) ? (BufferedReader) input : new BufferedReader(input);
+        byte[] lineBytes = new byte[0];
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineBytes.length < line.length() / 2) {
+                lineBytes = new byte[line.length() / 2];
+            }
+            try {
+                output.write(lineBytes, 0, parseLine(line, 0, line.length(), lineBytes));
+            } catch (NumberFormatException exception) {
+                throw new IOException("invalid dump at line " + lineNumber + " : " + exception.getMessage(), exception);
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes of the line
+     */
+    private static int parseLine(CharSequence dump, int lineStart, int lineEnd, byte[] destination) {
+        int index = lineStart;
+        while ((index < lineEnd) && (dump.charAt(index) != ':')) {
+            index++;
+        }
+        index = (index == lineEnd) ? lineStart : index + 1;
+        if ((lineEnd > lineStart) && (dump.charAt(lineEnd - 1) == '\r')) {
+            lineEnd--;
+        }
+        int count = 0;
+        int high = -1;
+        for (; index < lineEnd; index++) {
+            char character = dump.charAt(index);
+            int value = HexCodec.digit(character);
+            if (value >= 0) {
+                if (high < 0) {
+                    high = value;
+                } else {
+                    destination[count++] = (byte) ((high << 4) | value);
+                    high = -1;
+                }
+            } else if ((character == ' ') && (high < 0)) {
+                if ((index + 1 < lineEnd) && (dump.charAt(index + 1) == ' ')) {
+                    // end of the hexadecimal column
+                    break;
+                }
+            } else {
+                throw HexCodec.invalidCharacter(character, index);
+            }
+        }
+        if (high >= 0) {
+            throw new NumberFormatException("odd number of hexadecimal digits");
+        }
+        return count;
+    }
+
+    /**
+     * Writes the lines to an Appendable or an OutputStream.
+     */
+    private static class LineWriter {
+
+        private final Appendable appendable;
+        private final OutputStream outputStream;
+        private char[] characters;
+
+        LineWriter(Appendable appendable) {
+            this.appendable = Objects.requireNonNull(appendable);
+            this.outputStream = null;
+        }
+
+        LineWriter(OutputStream outputStream) {
+            this.appendable = null;
+            this.outputStream = Objects.requireNonNull(outputStream);
+        }
+
+        void write(byte[] line, int length) throws IOException {
+            if (outputStream != null) {
+                outputStream.write(line, 0, length);
+                return;
+            }
+            if ((characters == null) || (characters.length < length)) {
+                characters = new char[line.length];
+            }
+            for (int index = 0; index < length; index++) {
+                characters[index] = (char) line[index];
+            }
+            if (appendable instanceof Writer) {
+                ((Writer) appendable).write(characters, 0, length);
+            } else if (appendable instanceof StringBuilder) {
+                ((StringBuilder) appendable).append(characters, 0, length);
+            } else {
+                appendable.append(CharBuffer.wrap(characters, 0, length));
+            }
+        }
+    }
+}
\ No newline at end of file
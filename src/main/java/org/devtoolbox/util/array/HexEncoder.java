@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+
+/**
+ * <p>Reader returning the hexadecimal representation of the bytes read from an InputStream or a ReadableByteChannel.</p>
+ * <p>The bytes are read in chunks of bounded size, so the memory used does not depend on the size of the input.
+ * The characters are the same as the ones returned by {@link ArrayTools#arrayToHex(byte[], boolean)}, without any separator.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class HexEncoder extends Reader {
+
+    private static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private final InputStream inputStream;
+    private final ReadableByteChannel channel;
+    private final byte[] pairs;
+
+    private final byte[] bytes;
+    private final ByteBuffer channelBuffer;
+
+    private int bytesIndex = 0;
+    private int bytesLimit = 0;
+    /** second character of a byte that did not fit in the previous read, -1 if none */
+    private int pendingCharacter = -1;
+    private boolean endOfInput = false;
+
+    /**
+     * Creates an encoder reading the bytes from an InputStream.
+     *
+     * @param inputStream the binary input
+     * @param upperCase true to use upper case letters, false to use lower case ones
+     */
+    public HexEncoder(InputStream inputStream, boolean upperCase) {
+        this(Objects.requireNonNull(inputStream), null, upperCase, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates an encoder reading the bytes from a blocking channel.
+     *
+     * @param channel the binary input
+     * @param upperCase true to use upper case letters, false to use lower case ones
+     */
+    public HexEncoder(ReadableByteChannel channel, boolean upperCase) {
+        this(null, Objects.requireNonNull(channel), upperCase, DEFAULT_CHUNK_SIZE);
+    }
+
+    HexEncoder(InputStream inputStream, ReadableByteChannel channel, boolean upperCase, int chunkSize) {
+        this.inputStream = inputStream;
+        this.channel = channel;
+        this.pairs = HexCodec.pairs(upperCase);
+        this.bytes = new byte[chunkSize];
+        this.channelBuffer = (channel != null) ? ByteBuffer.wrap(bytes) : null;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (pendingCharacter >= 0) {
+            int character = pendingCharacter;
+            pendingCharacter = -1;
+            return character;
+        }
+        if ((bytesIndex == bytesLimit) && !fill()) {
+            return -1;
+        }
+        int pairIndex = (bytes[bytesIndex++] & 0xFF) << 1;
+        pendingCharacter = pairs[pairIndex + 1];
+        return pairs[pairIndex];
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length == 0) {
+            return 0;
+        }
+        int bufferIndex = offset;
+        int bufferLimit = offset + length;
+        if (pendingCharacter >= 0) {
+            buffer[bufferIndex++] = (char) pendingCharacter;
+            pendingCharacter = -1;
+        }
+        while (bufferIndex < bufferLimit) {
+            if ((bytesIndex == bytesLimit) && ((bufferIndex != offset) || !fill())) {
+                // return what is available rather than blocking on the next chunk
+                break;
+            }
+            int byteCount = Math.min(bytesLimit - bytesIndex, (bufferLimit - bufferIndex) / 2);
+            HexCodec.encode(bytes, bytesIndex, byteCount, buffer, bufferIndex, pairs);
+            bytesIndex += byteCount;
+            bufferIndex += byteCount * 2;
+            if ((bufferIndex == bufferLimit - 1) && (bytesIndex < bytesLimit)) {
+                // only one character left in the buffer, keep the second one for the next read
+                int pairIndex = (bytes[bytesIndex++] & 0xFF) << 1;
+                buffer[bufferIndex++] = (char) pairs[pairIndex];
+                pendingCharacter = pairs[pairIndex + 1];
+            }
+        }
+        return (bufferIndex == offset) ? -1 : bufferIndex - offset;
+    }
+
+    /**
+     * Reads the next chunk of the input.
+     *
+     * @return false if the end of the input has been reached
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        int count;
+        do {
+            if (inputStream != null) {
+                count = inputStream.read(bytes, 0, bytes.length);
+            } else {
+                channelBuffer.clear();
+                count = channel.read(channelBuffer);
+            }
+        } while (count == 0);
+        bytesIndex = 0;
+        bytesLimit = Math.max(count, 0);
+        endOfInput = (count == -1);
+        return !endOfInput;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (inputStream != null) {
+            inputStream.close();
+        } else {
+            channel.close();
+        }
+    }
+}
\ No newline at end of file
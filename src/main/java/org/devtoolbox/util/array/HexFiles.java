@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+
+/**
+ * <p>Converts files from binary to hexadecimal text (ASCII) and back, without loading them in memory.</p>
+ * <p>The files are memory mapped and transcoded by windows of a few MB, in parallel in the common fork-join pool : when encoding, the
+ * position of the output of each window is simply twice the one of its input, when decoding it is computed by first counting the digits
+ * of each window (in parallel too).</p>
+ * <p>Decoding follows the rules of {@link ArrayTools#hexToArray(String)} : whitespaces are ignored, and if the number of digits is odd,
+ * the first one is the low nibble of the first byte.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class HexFiles {
+
+    private static final int WINDOW_SIZE = 1 << 23;
+
+    /** size of the blocks copied between the mapped buffers and the arrays used by {@link HexCodec} */
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    private HexFiles() {
+    }
+
+    /**
+     * Writes the hexadecimal representation of a binary file, without any separator.
+     *
+     * @param source the binary file
+     * @param destination the text file, created or replaced
+     * @param upperCase true to use upper case letters, false to use lower case ones
+     */
+    public static void encode(Path source, Path destination, boolean upperCase) throws IOException {
+        byte[] pairs = HexCodec.pairs(upperCase);
+        try (FileChannel input = FileChannel.open(source, READ);
+                FileChannel output = FileChannel.open(destination, CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+            long size = input.size();
+            runInParallel(windowCount(size), window -> {
+                long position = (long) window * WINDOW_SIZE;
+                int length = (int) Math.min(WINDOW_SIZE, size - position);
+                MappedByteBuffer inputWindow = input.map(READ_ONLY, position, length);
+                MappedByteBuffer outputWindow = output.map(READ_WRITE, 2 * position, 2L * length);
+                byte[] bytes = new byte[BLOCK_SIZE];
+                byte[] characters = new byte[2 * BLOCK_SIZE];
+                while (inputWindow.hasRemaining()) {
+                    int count = Math.min(BLOCK_SIZE, inputWindow.remaining());
+                    inputWindow.get(bytes, 0, count);
+                    HexCodec.encode(bytes, 0, count, characters, 0, pairs);
+                    outputWindow.put(characters, 0, 2 * count);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes the bytes represented by a hexadecimal text file (ASCII).
+     *
+     * @param source the text file
+     * @param destination the binary file, created or replaced
+     * @throws IOException if the source contains invalid characters (the first one is reported, the content of the destination is
+     *         undefined in that case)
+     */
+    public static void decode(Path source, Path destination) throws IOException {
+        try (FileChannel input = FileChannel.open(source, READ);
+                FileChannel output = FileChannel.open(destination, CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+            long size = input.size();
+            int windowCount = windowCount(size);
+
+            int[] digitCounts = new int[windowCount];
+            runInParallel(windowCount, window -> digitCounts[window] = countDigits(input, window, size));
+            long digitCount = 0;
+            for (int window = 0; window < windowCount; window++) {
+                if (digitCounts[window] < 0) {
+                    long position = (long) window * WINDOW_SIZE - digitCounts[window] - 1;
+                    throw new IOException("invalid hexadecimal character at position " + position);
+                }
+                digitCount += digitCounts[window];
+            }
+
+            boolean padded = (digitCount % 2) == 1;
+            long[] firstDigitIndexes = new long[windowCount];
+            for (int window = 0; window < windowCount; window++) {
+                firstDigitIndexes[window] = (window == 0) ? (padded ? 1 : 0) : firstDigitIndexes[window - 1] + digitCounts[window - 1];
+            }
+            int[] leadingLows = new int[windowCount];
+            int[] trailingHighs = new int[windowCount];
+            Arrays.fill(leadingLows, -1);
+            Arrays.fill(trailingHighs, -1);
+            runInParallel(windowCount, window -> decodeWindow(input, output, window, size, firstDigitIndexes[window], digitCounts[window], padded,
+                leadingLows, trailingHighs));
+
+            // the bytes whose digits are in two different windows
+            int pendingHigh = -1;
+            for (int window = 0; window < windowCount; window++) {
+                if (leadingLows[window] >= 0) {
+                    ByteBuffer splitByte = ByteBuffer.wrap(new byte[] { (byte) ((pendingHigh << 4) | leadingLows[window]) });
+                    output.write(splitByte, firstDigitIndexes[window] / 2);
+                }
+                if (trailingHighs[window] >= 0) {
+                    pendingHigh = trailingHighs[window];
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of digits of the window, or <code>-(index + 1)</code> if the character at <code>index</code> in the window is invalid
+     */
+    private static int countDigits(FileChannel input, int window, long size) throws IOException {
+        long position = (long) window * WINDOW_SIZE;
+        MappedByteBuffer inputWindow = input.map(READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+        byte[] characters = new byte[BLOCK_SIZE];
+        int digitCount = 0;
+        while (inputWindow.hasRemaining()) {
+            int blockPosition = inputWindow.position();
+            int count = Math.min(BLOCK_SIZE, inputWindow.remaining());
+            inputWindow.get(characters, 0, count);
+            int blockDigitCount = HexCodec.countDigits(characters, 0, count);
+            if (blockDigitCount < 0) {
+                return blockDigitCount - blockPosition;
+            }
+            digitCount += blockDigitCount;
+        }
+        return digitCount;
+    }
+
+    /**
+     * Decodes the bytes whose two digits are in the window. If the first digit of the window is the low nibble of a byte, or its last
+     * digit the high nibble of a byte, they are stored in <code>leadingLows</code> and <code>trailingHighs</code> to be decoded later.
+     */
+    private static void decodeWindow(FileChannel input, FileChannel output, int window, long size, long firstDigitIndex, int digitCount,
+            boolean padded, int[] leadingLows, int[] trailingHighs) throws IOException {
+        if (digitCount == 0) {
+            return;
+        }
+        // digit indexes are counted from the implicit zero nibble if the number of digits is odd, like in HexCodec.decodeChunk
+        boolean afterImplicitZero = padded && (firstDigitIndex == 1);
+        boolean leadingLow = ((firstDigitIndex % 2) == 1) && !afterImplicitZero;
+        int high = afterImplicitZero ? 0 : -1;
+        long outputStart = afterImplicitZero ? 0 : (firstDigitIndex + 1) / 2;
+        long outputEnd = (firstDigitIndex + digitCount) / 2;
+
+        long position = (long) window * WINDOW_SIZE;
+        MappedByteBuffer inputWindow = input.map(READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+        MappedByteBuffer outputWindow = (outputEnd > outputStart) ? output.map(READ_WRITE, outputStart, outputEnd - outputStart) : null;
+        byte[] characters = new byte[BLOCK_SIZE];
+        byte[] bytes = new byte[BLOCK_SIZE / 2 + 1];
+        while (inputWindow.hasRemaining()) {
+            int count = Math.min(BLOCK_SIZE, inputWindow.remaining());
+            inputWindow.get(characters, 0, count);
+            int index = 0;
+            if (leadingLow) {
+                while ((index < count) && (HexCodec.DIGITS[characters[index] & 0xFF] < 0)) {
+                    index++;
+                }
+                if (index == count) {
+                    continue;
+                }
+                leadingLows[window] = HexCodec.DIGITS[characters[index++] & 0xFF];
+                leadingLow = false;
+            }
+            long result = HexCodec.decodeBlock(characters, index, count, high, bytes, 0);
+            int byteCount = (int) (result >>> 32);
+            if (byteCount > 0) {
+                outputWindow.put(bytes, 0, byteCount);
+            }
+            high = (int) result;
+        }
+        trailingHighs[window] = high;
+    }
+
+    private static int windowCount(long size) {
+        return (int) ((size + WINDOW_SIZE - 1) / WINDOW_SIZE);
+    }
+
+    private static void runInParallel(int windowCount, WindowTask task) throws IOException {
+        try {
+            IntStream.range(0, windowCount).parallel().forEach(window -> {
+                try {
+                    task.run(window);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface WindowTask {
+
+        void run(int window) throws IOException;
+    }
+}
\ No newline at end of file
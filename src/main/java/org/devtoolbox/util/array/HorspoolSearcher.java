@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.util.Arrays;
+
+
+/**
+ * <p>Boyer-Moore-Horspool search of a needle of at least 2 bytes : the last byte of the window is compared first, and the window is then
+ * shifted by the distance from the last occurence of the byte of the haystack under the end of the window in the needle (excluding its
+ * last byte). The reverse search is the mirror of it, comparing the first byte of the window and shifting using the first occurence.</p>
+ * <p>Its worst case is quadratic (with needles like <code>aaaabaaaa</code> in runs of <code>a</code>) : the number of bytes compared is
+ * counted, and when it gets larger than a few times the length of the range already searched, the rest of the range is searched with
+ * {@link TwoWaySearcher}, so the search stays linear whatever the input.</p>
+ * <p>Instances are immutable once built (the needle must not be modified), and can be shared between threads.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+final class HorspoolSearcher {
+
+    /** maximum number of bytes compared per byte of the range searched before falling back to Two-Way */
+    private static final int WORK_FACTOR = 4;
+
+    private final byte[] needle;
+    private final int[] forwardShifts;
+    private final int[] backwardShifts;
+
+    HorspoolSearcher(byte[] needle) {
+        if (needle.length < 2) {
+            throw new IllegalArgumentException("the needle must contain at least 2 bytes");
+        }
+        this.needle = needle;
+        forwardShifts = forwardShifts(needle);
+        backwardShifts = backwardShifts(needle);
+    }
+
+    /**
+     * Builds the shift table of the forward search : the distance from the last occurence of each byte in the needle (excluding its last
+     * byte) to the end of the needle.
+     */
+    static int[] forwardShifts(byte[] needle) {
+        int length = needle.length;
+        int[] shifts = new int[256];
+        Arrays.fill(shifts, length);
+        for (int index = 0; index < length - 1; index++) {
+            shifts[needle[index] & 0xFF] = length - 1 - index;
+        }
+        return shifts;
+    }
+
+    /**
+     * Builds the shift table of the reverse search : the index of the first occurence of each byte in the needle (excluding its first
+     * byte).
+     */
+    static int[] backwardShifts(byte[] needle) {
+        int length = needle.length;
+        int[] shifts = new int[256];
+        Arrays.fill(shifts, length);
+        for (int index = length - 1; index > 0; index--) {
+            shifts[needle[index] & 0xFF] = index;
+        }
+        return shifts;
+    }
+
+    /**
+     * Returns the index of the first occurence of the needle within the range [fromIndex, toIndex[ of an array, or -1 if it is not found.
+     */
+    int indexOf(byte[] array, int fromIndex, int toIndex) {
+        return indexOf(needle, forwardShifts, array, fromIndex, toIndex);
+    }
+
+    /**
+     * Same as {@link #indexOf(byte[], int, int)}, for a needle of at least 2 bytes and its {@link #forwardShifts(byte[])} table, without
+     * building a searcher (and the table of the other direction) for a single search.
+     */
+    static int indexOf(byte[] needle, int[] forwardShifts, byte[] array, int fromIndex, int toIndex) {
+        int length = needle.length;
+        byte lastByte = needle[length - 1];
+        long work = 0;
+        for (int position = fromIndex; position <= toIndex - length;) {
+            byte windowLastByte = array[position + length - 1];
+            if (windowLastByte == lastByte) {
+                int mismatch = Arrays.mismatch(array, position, position + length - 1, needle, 0, length - 1);
+                if (mismatch < 0) {
+                    return position;
+                }
+                work += mismatch + 1;
+                if (work > WORK_FACTOR * ((long) position - fromIndex + length)) {
+                    return new TwoWaySearcher(needle, false).search(array, position, toIndex);
+                }
+            }
+            position += forwardShifts[windowLastByte & 0xFF];
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last occurence of the needle within the range [fromIndex, toIndex[ of an array, or -1 if it is not found.
+     */
+    int lastIndexOf(byte[] array, int fromIndex, int toIndex) {
+        return lastIndexOf(needle, backwardShifts, array, fromIndex, toIndex);
+    }
+
+    /**
+     * Same as {@link #lastIndexOf(byte[], int, int)}, for a needle of at least 2 bytes and its {@link #backwardShifts(byte[])} table.
+     */
+    static int lastIndexOf(byte[] needle, int[] backwardShifts, byte[] array, int fromIndex, int toIndex) {
+        int length = needle.length;
+        byte firstByte = needle[0];
+        long work = 0;
+        for (int position = toIndex - length; position >= fromIndex;) {
+            byte windowFirstByte = array[position];
+            if (windowFirstByte == firstByte) {
+                int mismatch = Arrays.mismatch(array, position + 1, position + length, needle, 1, length);
+                if (mismatch < 0) {
+                    return position;
+                }
+                work += mismatch + 1;
+                if (work > WORK_FACTOR * ((long) toIndex - position)) {
+                    // the positions after this one have been checked already
+                    return new TwoWaySearcher(needle, true).search(array, fromIndex, position + length - 1);
+                }
+            }
+            position -= backwardShifts[windowFirstByte & 0xFF];
+        }
+        return -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+
+/**
+ * <p>"SIMD within a register" helpers : the bytes of an array are read 8 at a time as a little endian long, each byte being a lane of the
+ * long (the byte at the lowest index is in the least significant lane).</p>
+ * <p>The lane masks returned by the methods have the most significant bit (0x80) of a lane set when the condition is true for that lane,
+ * and all other bits cleared.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+final class Swar {
+
+    /** 0x01 in every lane */
+    static final long LOW_BITS = 0x0101010101010101L;
+
+    /** 0x80 in every lane */
+    static final long HIGH_BITS = 0x8080808080808080L;
+
+    private static final long LOW_NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_VIEW = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private Swar() {
+    }
+
+    static long getLong(byte[] array, int index) {
+        return (long) LONG_VIEW.get(array, index);
+    }
+
+    static void putLong(byte[] array, int index, long value) {
+        LONG_VIEW.set(array, index, value);
+    }
+
+    static int getInt(byte[] array, int index) {
+        return (int) INT_VIEW.get(array, index);
+    }
+
+    static void putInt(byte[] array, int index, int value) {
+        INT_VIEW.set(array, index, value);
+    }
+
+    /**
+     * Returns a word with <code>value</code> in every lane.
+     */
+    static long broadcast(byte value) {
+        return (value & 0xFFL) * LOW_BITS;
+    }
+
+    /**
+     * Mask of the lanes that are zero, only exact for the lowest one : a borrow from a zero lane may also flag the lane above it if it
+     * contains 0x01. Cheaper than {@link #zeroLanes(long)} when only the first lane is needed.
+     */
+    static long lowestZeroLanes(long word) {
+        return (word - LOW_BITS) & ~word & HIGH_BITS;
+    }
+
+    /**
+     * Mask of the lanes that are zero, exact for every lane (no carry crosses the lanes).
+     */
+    static long zeroLanes(long word) {
+        long low7Bits = ~HIGH_BITS;
+        return ~(((word & low7Bits) + low7Bits) | word | low7Bits);
+    }
+
+    /**
+     * Mask of the lanes that are greater than or equal to <code>value</code>, lanes and value must be lower than 0x80.
+     */
+    static long greaterOrEqual(long word, int value) {
+        return ((word | HIGH_BITS) - (value * LOW_BITS)) & HIGH_BITS;
+    }
+
+    /**
+     * Mask of the lanes that are lower than or equal to <code>value</code>, lanes and value must be lower than 0x80.
+     */
+    static long lowerOrEqual(long word, int value) {
+        return (((value | 0x80) * LOW_BITS) - word) & HIGH_BITS;
+    }
+
+    /**
+     * Converts 8 ASCII hexadecimal digits to their values (one per lane).
+     *
+     * @return the values, or -1 if one of the lanes is not a hexadecimal digit
+     */
+    static long hexDigits(long word) {
+        if ((word & HIGH_BITS) != 0) {
+            return -1;
+        }
+        long digits = greaterOrEqual(word, '0') & lowerOrEqual(word, '9');
+        // setting the 0x20 bit converts upper case letters to lower case ones
+        long lowerCaseWord = word | 0x2020202020202020L;
+        long letters = greaterOrEqual(lowerCaseWord, 'a') & lowerOrEqual(lowerCaseWord, 'f');
+        if ((digits | letters) != HIGH_BITS) {
+            return -1;
+        }
+        // the low nibble of '0'-'9' is the value, the one of 'a'-'f' / 'A'-'F' is the value - 9
+        return (word & LOW_NIBBLES) + ((letters >>> 7) * 9);
+    }
+
+    /**
+     * Packs 8 nibble values (as returned by {@link #hexDigits}) to 4 bytes, the first nibble of each pair being the high one.
+     */
+    static int packNibbles(long nibbles) {
+        long bytes = ((nibbles << 4) | (nibbles >>> 8)) & 0x00FF00FF00FF00FFL;
+        bytes = (bytes | (bytes >>> 8)) & 0x0000FFFF0000FFFFL;
+        return (int) (bytes | (bytes >>> 16));
+    }
+
+    /**
+     * Converts 4 bytes (little endian int) to their 8 ASCII hexadecimal characters.
+     *
+     * @param letterOffset 7 for upper case letters, 39 for lower case ones (distance from <code>'0' + 10</code> to the letter 'a' or 'A')
+     */
+    static long hexCharacters(int fourBytes, int letterOffset) {
+        long bytes = fourBytes & 0xFFFFFFFFL;
+        bytes = (bytes | (bytes << 16)) & 0x0000FFFF0000FFFFL;
+        bytes = (bytes | (bytes << 8)) & 0x00FF00FF00FF00FFL;
+        long nibbles = ((bytes >>> 4) & 0x000F000F000F000FL) | ((bytes & 0x000F000F000F000FL) << 8);
+        long letters = ((nibbles + (6 * LOW_BITS)) & (0x10 * LOW_BITS)) >>> 4;
+        return nibbles + ('0' * LOW_BITS) + (letters * letterOffset);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+/**
+ * <p>Two-Way string matching (Crochemore and Perrin) : the needle is split at a critical factorization, its right part is compared from
+ * left to right, then its left part from right to left, and the window is shifted using the period of the needle. The search is linear
+ * in the length of the range and of the needle whatever their content, and uses no memory besides the factorization.</p>
+ * <p>The reverse search runs the same algorithm on the mirrored needle and range (without copying them).</p>
+ * <p>Instances are immutable once built (the needle must not be modified), and can be shared between threads.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+final class TwoWaySearcher {
+
+    private final byte[] needle;
+    private final boolean reverse;
+    /** index of the last byte of the left part of the critical factorization, -1 if it is empty */
+    private final int criticalPosition;
+    private final int period;
+    /** true if the left part of the needle is a suffix of its first period */
+    private final boolean periodic;
+
+    /**
+     * @param needle the needle, at least one byte
+     * @param reverse true to find the last occurence of the needle, false to find the first one
+     */
+    TwoWaySearcher(byte[] needle, boolean reverse) {
+        if (needle.length == 0) {
+            throw new IllegalArgumentException("the needle must not be empty");
+        }
+        this.needle = needle;
+        this.reverse = reverse;
+        long suffix = maximalSuffix(false);
+        long invertedSuffix = maximalSuffix(true);
+        long factorization = ((int) (suffix >> 32) > (int) (invertedSuffix >> 32)) ? suffix : invertedSuffix;
+        criticalPosition = (int) (factorization >> 32);
+        int factorizationPeriod = (int) factorization;
+        boolean leftPartRepeats = true;
+        for (int index = 0; index <= criticalPosition; index++) {
+            if ((criticalPosition + factorizationPeriod >= needle.length)
+                    || (patternAt(index) != patternAt(index + factorizationPeriod))) {
+                leftPartRepeats = false;
+                break;
+            }
+        }
+        periodic = leftPartRepeats;
+        period = periodic ? factorizationPeriod : Math.max(criticalPosition + 1, needle.length - criticalPosition - 1) + 1;
+    }
+
+    /**
+     * Computes the maximal suffix of the needle for the unsigned order of the bytes (or the inverted order).
+     *
+     * @return the index of the byte before the suffix in the high int, the period of the suffix in the low int
+     */
+    private long maximalSuffix(boolean inverted) {
+        int suffixStart = -1;
+        int index = 0;
+        int offset = 1;
+        int suffixPeriod = 1;
+        while (index + offset < needle.length) {
+            int current = patternAt(index + offset) & 0xFF;
+            int reference = patternAt(suffixStart + offset) & 0xFF;
+            if (inverted ? (current > reference) : (current < reference)) {
+                index += offset;
+                offset = 1;
+                suffixPeriod = index - suffixStart;
+            } else if (current == reference) {
+                if (offset == suffixPeriod) {
+                    index += suffixPeriod;
+                    offset = 1;
+                } else {
+                    offset++;
+                }
+            } else {
+                suffixStart = index;
+                index = suffixStart + 1;
+                offset = 1;
+                suffixPeriod = 1;
+            }
+        }
+        return ((long) suffixStart << 32) | suffixPeriod;
+    }
+
+    private byte patternAt(int index) {
+        return reverse ? needle[needle.length - 1 - index] : needle[index];
+    }
+
+    private byte textAt(byte[] array, int fromIndex, int toIndex, int index) {
+        return reverse ? array[toIndex - 1 - index] : array[fromIndex + index];
+    }
+
+    /**
+     * Returns the index of the first occurence (or the last one for a reverse searcher) of the needle within the range
+     * [fromIndex, toIndex[ of an array, or -1 if it is not found.
+     */
+    int search(byte[] array, int fromIndex, int toIndex) {
+        int length = needle.length;
+        int lastShift = toIndex - fromIndex - length;
+        int shift = 0;
+        // number of bytes of the left part known to match after a shift by the period, -1 if none
+        int memory = -1;
+        while (shift <= lastShift) {
+            int index = Math.max(criticalPosition, memory) + 1;
+            while ((index < length) && (patternAt(index) == textAt(array, fromIndex, toIndex, shift + index))) {
+                index++;
+            }
+            if (index < length) {
+                shift += index - criticalPosition;
+                memory = -1;
+                continue;
+            }
+            index = criticalPosition;
+            while ((index > memory) && (patternAt(index) == textAt(array, fromIndex, toIndex, shift + index))) {
+                index--;
+            }
+            if (index <= memory) {
+                return reverse ? toIndex - shift - length : fromIndex + shift;
+            }
+            shift += period;
+            memory = periodic ? length - period - 1 : -1;
+        }
+        return -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,191 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array;
+
+import java.util.Objects;
+import java.util.zip.Checksum;
+
+
+/**
+ * <p>Streaming version of the 64 bits xxHash function (XXH64) : the hash of the bytes given to the successive updates is the same as the one
+ * returned by {@link ByteHashes#xxHash64(byte[], int, int, long)} for all the bytes at once.</p>
+ * <p>The bytes are processed by stripes of 32 bytes (4 lanes of 8 bytes), only the last incomplete stripe is buffered. Instances are not
+ * thread safe.</p>
+ *
+ * @author Arnaud Lecollaire
+ */
+public final class XxHash64 implements Checksum {
+
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_3 = 0x165667B19E3779F9L;
+    private static final long PRIME_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME_5 = 0x27D4EB2F165667C5L;
+
+    private static final int STRIPE_SIZE = 32;
+
+    private final long seed;
+    private final byte[] buffer = new byte[STRIPE_SIZE];
+
+    private long lane1;
+    private long lane2;
+    private long lane3;
+    private long lane4;
+    private int bufferSize;
+    private long totalLength;
+
+    /**
+     * Creates a hash with a zero seed.
+     */
+    public XxHash64() {
+        this(0);
+    }
+
+    /**
+     * Creates a hash with the given seed (used again by {@link #reset()}).
+     */
+    public XxHash64(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    @Override
+    public void update(int b) {
+        buffer[bufferSize++] = (byte) b;
+        totalLength++;
+        if (bufferSize == STRIPE_SIZE) {
+            processStripe(buffer, 0);
+            bufferSize = 0;
+        }
+    }
+
+    @Override
+    public void update(byte[] array, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, array.length);
+        totalLength += length;
+        if (bufferSize + length < STRIPE_SIZE) {
+            System.arraycopy(array, offset, buffer, bufferSize, length);
+            bufferSize += length;
+            return;
+        }
+        int index = offset;
+        int end = offset + length;
+        if (bufferSize > 0) {
+            int count = STRIPE_SIZE - bufferSize;
+            System.arraycopy(array, index, buffer, bufferSize, count);
+            processStripe(buffer, 0);
+            index += count;
+        }
+        for (; index <= end - STRIPE_SIZE; index += STRIPE_SIZE) {
+            processStripe(array, index);
+        }
+        bufferSize = end - index;
+        System.arraycopy(array, index, buffer, 0, bufferSize);
+    }
+
+    /**
+     * @return the hash of all the bytes given since the creation or the last reset (the state is not modified)
+     */
+    @Override
+    public long getValue() {
+        long hash = (totalLength >= STRIPE_SIZE) ? mergeLanes(lane1, lane2, lane3, lane4) : seed + PRIME_5;
+        return finish(hash + totalLength, buffer, 0, bufferSize);
+    }
+
+    @Override
+    public void reset() {
+        lane1 = seed + PRIME_1 + PRIME_2;
+        lane2 = seed + PRIME_2;
+        lane3 = seed;
+        lane4 = seed - PRIME_1;
+        bufferSize = 0;
+        totalLength = 0;
+    }
+
+    private void processStripe(byte[] array, int index) {
+        lane1 = round(lane1, Swar.getLong(array, index));
+        lane2 = round(lane2, Swar.getLong(array, index + 8));
+        lane3 = round(lane3, Swar.getLong(array, index + 16));
+        lane4 = round(lane4, Swar.getLong(array, index + 24));
+    }
+
+    /**
+     * One-shot hash, used by {@link ByteHashes}.
+     */
+    static long hash(byte[] array, int offset, int length, long seed) {
+        int index = offset;
+        int end = offset + length;
+        long hash;
+        if (length >= STRIPE_SIZE) {
+            long lane1 = seed + PRIME_1 + PRIME_2;
+            long lane2 = seed + PRIME_2;
+            long lane3 = seed;
+            long lane4 = seed - PRIME_1;
+            do {
+                lane1 = round(lane1, Swar.getLong(array, index));
+                lane2 = round(lane2, Swar.getLong(array, index + 8));
+                lane3 = round(lane3, Swar.getLong(array, index + 16));
+                lane4 = round(lane4, Swar.getLong(array, index + 24));
+                index += STRIPE_SIZE;
+            } while (index <= end - STRIPE_SIZE);
+            hash = mergeLanes(lane1, lane2, lane3, lane4);
+        } else {
+            hash = seed + PRIME_5;
+        }
+        return finish(hash + length, array, index, end - index);
+    }
+
+    private static long round(long lane, long input) {
+        return Long.rotateLeft(lane + input * PRIME_2, 31) * PRIME_1;
+    }
+
+    private static long mergeLanes(long lane1, long lane2, long lane3, long lane4) {
+        long hash = Long.rotateLeft(lane1, 1) + Long.rotateLeft(lane2, 7) + Long.rotateLeft(lane3, 12) + Long.rotateLeft(lane4, 18);
+        hash = mergeLane(hash, lane1);
+        hash = mergeLane(hash, lane2);
+        hash = mergeLane(hash, lane3);
+        return mergeLane(hash, lane4);
+    }
+
+    private static long mergeLane(long hash, long lane) {
+        return (hash ^ round(0, lane)) * PRIME_1 + PRIME_4;
+    }
+
+    /**
+     * Mixes the remaining bytes (less than a stripe) in the hash and applies the final avalanche.
+     */
+    private static long finish(long hash, byte[] array, int offset, int length) {
+        int index = offset;
+        int end = offset + length;
+        for (; index <= end - Long.BYTES; index += Long.BYTES) {
+            hash = Long.rotateLeft(hash ^ round(0, Swar.getLong(array, index)), 27) * PRIME_1 + PRIME_4;
+        }
+        if (index <= end - Integer.BYTES) {
+            hash = Long.rotateLeft(hash ^ ((Swar.getInt(array, index) & 0xFFFFFFFFL) * PRIME_1), 23) * PRIME_2 + PRIME_3;
+            index += Integer.BYTES;
+        }
+        for (; index < end; index++) {
+            hash = Long.rotateLeft(hash ^ ((array[index] & 0xFF) * PRIME_5), 11) * PRIME_1;
+        }
+        hash ^= hash >>> 33;
+        hash *= PRIME_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME_3;
+        return hash ^ (hash >>> 32);
+    }
+}
\ No newline at end of file
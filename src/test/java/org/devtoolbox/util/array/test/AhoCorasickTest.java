@@ -0,0 +1,232 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.devtoolbox.util.array.AhoCorasick;
+import org.devtoolbox.util.array.AhoCorasick.MatchKind;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link AhoCorasick}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class AhoCorasickTest {
+
+    @Test
+    public void compileTest() {
+        assertThrows(IllegalArgumentException.class, () -> AhoCorasick.compile(List.of(ascii("he"), new byte[0]), MatchKind.OVERLAPPING));
+
+        AhoCorasick automaton = AhoCorasick.compile(List.of(ascii("he"), ascii("hers")), MatchKind.LEFTMOST_LONGEST);
+        assertEquals(MatchKind.LEFTMOST_LONGEST, automaton.matchKind());
+        assertEquals(2, automaton.patternCount());
+        assertEquals(4, automaton.patternLength(1));
+        assertTrue(automaton.containsAny(ascii("ushers")));
+        assertTrue(automaton.containsAny(ascii("she")));
+        assertFalse(automaton.containsAny(ascii("shh")));
+        assertFalse(AhoCorasick.compile(List.of(), MatchKind.OVERLAPPING).containsAny(ascii("anything")));
+    }
+
+    @Test
+    public void overlappingTest() {
+        List<byte[]> patterns = List.of(ascii("he"), ascii("she"), ascii("his"), ascii("hers"), ascii("he"));
+        AhoCorasick automaton = AhoCorasick.compile(patterns, MatchKind.OVERLAPPING);
+        assertEquals(List.of("1@1", "0@2", "4@2", "3@2"), matches(automaton, ascii("ushers")));
+        assertEquals(List.of("2@1"), matches(automaton, ascii("this")));
+        assertEquals(List.of(), matches(automaton, ascii("hhh")));
+    }
+
+    @Test
+    public void leftmostLongestTest() {
+        List<byte[]> patterns = List.of(ascii("ab"), ascii("abxyz"), ascii("x"), ascii("abcd"), ascii("bc"), ascii("ab"));
+        AhoCorasick automaton = AhoCorasick.compile(patterns, MatchKind.LEFTMOST_LONGEST);
+        assertEquals(List.of("0@0", "2@2"), matches(automaton, ascii("abxq")));
+        assertEquals(List.of("1@0", "2@6"), matches(automaton, ascii("abxyzax")));
+        assertEquals(List.of("0@0", "4@3"), matches(automaton, ascii("abcbce")));
+        assertEquals(List.of("3@0", "0@4"), matches(automaton, ascii("abcdab")));
+    }
+
+    @Test
+    public void rangeAndBufferTest() {
+        AhoCorasick automaton = AhoCorasick.compile(List.of(ascii("abc"), ascii("c")), MatchKind.OVERLAPPING);
+        byte[] array = ascii("abcabcabc");
+        List<String> found = new ArrayList<>();
+        automaton.search(array, 2, 7, (patternId, start) -> found.add(patternId + "@" + start));
+        assertEquals(List.of("1@2", "0@3", "1@5"), found);
+        assertThrows(IndexOutOfBoundsException.class, () -> automaton.search(array, 2, 10, (patternId, start) -> true));
+
+        ByteBuffer heap = ByteBuffer.wrap(array, 1, 6).slice();
+        heap.position(1);
+        assertEquals(List.of("1@1", "0@2", "1@4"), matches(automaton, heap));
+        assertEquals(1, heap.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(array.length).put(array).position(3);
+        assertEquals(List.of("0@3", "1@5", "0@6", "1@8"), matches(automaton, direct));
+        assertEquals(3, direct.position());
+    }
+
+    @Test
+    public void stopTest() throws IOException {
+        AhoCorasick automaton = AhoCorasick.compile(List.of(ascii("a")), MatchKind.LEFTMOST_LONGEST);
+        int[] count = { 0 };
+        automaton.search(new ByteArrayInputStream(ascii("aaaaa")), (patternId, start) -> ++count[0] < 2);
+        assertEquals(2, count[0]);
+    }
+
+    @Test
+    public void randomTest() throws IOException {
+        Random random = new Random(23);
+        for (int round = 0; round < 300; round++) {
+            // small alphabet, so that the patterns often overlap and share prefixes
+            int alphabet = 2 + random.nextInt(3);
+            List<byte[]> patterns = new ArrayList<>();
+            int patternCount = 1 + random.nextInt(8);
+            for (int patternIndex = 0; patternIndex < patternCount; patternIndex++) {
+                patterns.add(randomBytes(random, 1 + random.nextInt(6), alphabet));
+            }
+            byte[] text = randomBytes(random, random.nextInt(200), alphabet);
+            assertEquals(naiveOverlapping(patterns, text), matches(AhoCorasick.compile(patterns, MatchKind.OVERLAPPING), text));
+            assertEquals(naiveLeftmostLongest(patterns, text), matches(AhoCorasick.compile(patterns, MatchKind.LEFTMOST_LONGEST), text));
+        }
+    }
+
+    @Test
+    public void streamTest() throws IOException {
+        Random random = new Random(17);
+        List<byte[]> patterns = new ArrayList<>();
+        for (int patternIndex = 0; patternIndex < 50; patternIndex++) {
+            patterns.add(randomBytes(random, 2 + random.nextInt(30), 3));
+        }
+        byte[] text = randomBytes(random, 300_000, 3);
+        for (MatchKind matchKind : MatchKind.values()) {
+            AhoCorasick automaton = AhoCorasick.compile(patterns, matchKind);
+            List<String> expected = matches(automaton, text);
+            assertFalse(expected.isEmpty());
+            if (matchKind == MatchKind.LEFTMOST_LONGEST) {
+                assertEquals(naiveLeftmostLongest(patterns, text), expected);
+            }
+            assertEquals(expected, matches(automaton, (InputStream) new ByteArrayInputStream(text)));
+            // stream returning few bytes at a time
+            assertEquals(expected, matches(automaton, new ByteArrayInputStream(text) {
+                @Override
+                public synchronized int read(byte[] buffer, int offset, int length) {
+                    return super.read(buffer, offset, Math.min(length, 1 + random.nextInt(5000)));
+                }
+            }));
+            assertEquals(expected, matches(automaton, ByteBuffer.allocateDirect(text.length).put(text).flip()));
+        }
+    }
+
+    @Test
+    public void streamChunkBoundaryTest() throws IOException {
+        // "bab" starts 2 bytes before the end of the first 64 KB chunk, where "a" is a shorter candidate starting after it
+        List<byte[]> patterns = List.of(ascii("aaab"), ascii("a"), ascii("bb"), ascii("bab"));
+        byte[] text = new byte[65_546];
+        Arrays.fill(text, (byte) 'c');
+        System.arraycopy(ascii("babb"), 0, text, 65_534, 4);
+        AhoCorasick automaton = AhoCorasick.compile(patterns, MatchKind.LEFTMOST_LONGEST);
+        List<String> expected = naiveLeftmostLongest(patterns, text);
+        assertEquals(List.of("3@65534"), expected);
+        assertEquals(expected, matches(automaton, text));
+        assertEquals(expected, matches(automaton, (InputStream) new ByteArrayInputStream(text)));
+        assertEquals(expected, matches(automaton, ByteBuffer.allocateDirect(text.length).put(text).flip()));
+    }
+
+    private static List<String> matches(AhoCorasick automaton, byte[] text) {
+        List<String> found = new ArrayList<>();
+        automaton.search(text, (patternId, start) -> found.add(patternId + "@" + start));
+        return found;
+    }
+
+    private static List<String> matches(AhoCorasick automaton, ByteBuffer buffer) {
+        List<String> found = new ArrayList<>();
+        automaton.search(buffer, (patternId, start) -> found.add(patternId + "@" + start));
+        return found;
+    }
+
+    private static List<String> matches(AhoCorasick automaton, InputStream input) throws IOException {
+        List<String> found = new ArrayList<>();
+        automaton.search(input, (patternId, start) -> found.add(patternId + "@" + start));
+        return found;
+    }
+
+    /** all the matches, ordered by end, then by decreasing length, then by id */
+    private static List<String> naiveOverlapping(List<byte[]> patterns, byte[] text) {
+        List<String> found = new ArrayList<>();
+        for (int end = 1; end <= text.length; end++) {
+            for (int length = end; length > 0; length--) {
+                for (int patternId = 0; patternId < patterns.size(); patternId++) {
+                    byte[] pattern = patterns.get(patternId);
+                    if ((pattern.length == length) && Arrays.equals(text, end - length, end, pattern, 0, length)) {
+                        found.add(patternId + "@" + (end - length));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static List<String> naiveLeftmostLongest(List<byte[]> patterns, byte[] text) {
+        List<String> found = new ArrayList<>();
+        int start = 0;
+        while (start < text.length) {
+            int best = -1;
+            for (int patternId = 0; patternId < patterns.size(); patternId++) {
+                byte[] pattern = patterns.get(patternId);
+                if ((start + pattern.length <= text.length) && Arrays.equals(text, start, start + pattern.length, pattern, 0, pattern.length)
+                        && ((best < 0) || (pattern.length > patterns.get(best).length))) {
+                    best = patternId;
+                }
+            }
+            if (best < 0) {
+                start++;
+            } else {
+                found.add(best + "@" + start);
+                start += patterns.get(best).length;
+            }
+        }
+        return found;
+    }
+
+    private static byte[] randomBytes(Random random, int length, int alphabet) {
+        byte[] bytes = new byte[length];
+        for (int index = 0; index < length; index++) {
+            bytes[index] = (byte) ('a' + random.nextInt(alphabet));
+        }
+        return bytes;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
\ No newline at end of file
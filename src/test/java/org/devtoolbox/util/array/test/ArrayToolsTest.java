@@ -17,20 +17,48 @@
 
 package org.devtoolbox.util.array.test;
 
+import static org.devtoolbox.util.array.ArrayTools.arrayToHex;
+import static org.devtoolbox.util.array.ArrayTools.asciiHexToArray;
 import static org.devtoolbox.util.array.ArrayTools.bytesEqual;
+import static org.devtoolbox.util.array.ArrayTools.compareUnsigned;
 import static org.devtoolbox.util.array.ArrayTools.concat;
 import static org.devtoolbox.util.array.ArrayTools.concatWithSeparator;
 import static org.devtoolbox.util.array.ArrayTools.hexToArray;
 import static org.devtoolbox.util.array.ArrayTools.hexToByte;
+import static org.devtoolbox.util.array.ArrayTools.indexOf;
+import static org.devtoolbox.util.array.ArrayTools.indexOfAny;
 import static org.devtoolbox.util.array.ArrayTools.indexOfFirst;
+import static org.devtoolbox.util.array.ArrayTools.indexOfFirstNot;
 import static org.devtoolbox.util.array.ArrayTools.indexOfLast;
+import static org.devtoolbox.util.array.ArrayTools.indexOfLastNot;
+import static org.devtoolbox.util.array.ArrayTools.indexOfNot;
+import static org.devtoolbox.util.array.ArrayTools.isAllEqual;
+import static org.devtoolbox.util.array.ArrayTools.isAllZero;
+import static org.devtoolbox.util.array.ArrayTools.isHex;
+import static org.devtoolbox.util.array.ArrayTools.lastIndexOf;
+import static org.devtoolbox.util.array.ArrayTools.lastIndexOfAny;
+import static org.devtoolbox.util.array.ArrayTools.lastIndexOfNot;
+import static org.devtoolbox.util.array.ArrayTools.mismatch;
+import static org.devtoolbox.util.array.ArrayTools.parallelHexToArray;
+import static org.devtoolbox.util.array.ArrayTools.spanOf;
 import static org.devtoolbox.util.array.ArrayTools.split;
+import static org.devtoolbox.util.array.ArrayTools.tryHexToArray;
+import static org.devtoolbox.util.array.ArrayTools.tryHexToByte;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Random;
 
 import org.devtoolbox.util.array.ArrayTools;
 import org.junit.jupiter.api.Test;
@@ -93,12 +121,203 @@ public class ArrayToolsTest {
             """, 3, 16_647_498);
     }
 
+    @Test
+    public void hexToArrayInvalidTest() {
+        assertThrows(NumberFormatException.class, () -> hexToArray("FE 0G"));
+        assertThrows(NumberFormatException.class, () -> hexToArray("FE-05"));
+        assertThrows(NumberFormatException.class, () -> hexToArray("+5"));
+        assertThrows(NumberFormatException.class, () -> hexToByte("G"));
+        assertThrows(NumberFormatException.class, () -> hexToByte(" A"));
+        assertThrows(IllegalArgumentException.class, () -> hexToByte("ABC"));
+        assertEquals(0, hexToArray(" \t\r\n").length);
+    }
+
+    @Test
+    public void hexToArrayOtherInputsTest() {
+        byte[] expected = hexToArray("FE054A");
+
+        assertArrayEquals(expected, hexToArray(new StringBuilder("FE 05\t4a")));
+        assertArrayEquals(expected, hexToArray("--FE 05 4a--".toCharArray(), 2, 8));
+        byte[] ascii = "--FE 05 4a--".getBytes(StandardCharsets.US_ASCII);
+        assertArrayEquals(expected, asciiHexToArray(ascii, 2, 8));
+
+        ByteBuffer heapBuffer = ByteBuffer.wrap(ascii, 2, 8);
+        assertArrayEquals(expected, asciiHexToArray(heapBuffer));
+        assertEquals(10, heapBuffer.position());
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(ascii.length).put(ascii).flip().position(2).limit(10);
+        assertArrayEquals(expected, asciiHexToArray(directBuffer));
+        assertEquals(10, directBuffer.position());
+
+        ByteBuffer invalidBuffer = ByteBuffer.allocateDirect(4).put(new byte[] { '0', '1', 'x', '2' }).flip();
+        assertThrows(NumberFormatException.class, () -> asciiHexToArray(invalidBuffer));
+        assertEquals(0, invalidBuffer.position());
+        assertThrows(NumberFormatException.class, () -> asciiHexToArray(ascii, 0, 4));
+        assertThrows(NumberFormatException.class, () -> hexToArray("FE-05".toCharArray(), 0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> hexToArray("FE 05".toCharArray(), 2, 4));
+    }
+
+    @Test
+    public void asciiHexToArrayBlocksTest() {
+        // inputs long enough to be decoded by blocks of 8 characters, with whitespaces and invalid characters at various positions
+        Random random = new Random(42);
+        for (int iteration = 0; iteration < 500; iteration++) {
+            byte[] expected = new byte[random.nextInt(40)];
+            random.nextBytes(expected);
+            StringBuilder hexString = new StringBuilder(arrayToHex(expected, random.nextBoolean()));
+            if ((expected.length > 0) && random.nextBoolean()) {
+                // odd number of digits
+                expected[0] &= 0x0F;
+                hexString.deleteCharAt(0);
+            }
+            for (int whitespaces = random.nextInt(3); whitespaces > 0; whitespaces--) {
+                hexString.insert(random.nextInt(hexString.length() + 1), " \t\r\n".charAt(random.nextInt(4)));
+            }
+            byte[] ascii = hexString.toString().getBytes(StandardCharsets.US_ASCII);
+            assertArrayEquals(expected, asciiHexToArray(ascii, 0, ascii.length));
+            assertArrayEquals(expected, hexToArray(hexString));
+            assertArrayEquals(expected, hexToArray(hexString.toString()));
+            assertArrayEquals(expected, hexToArray(hexString.toString().toCharArray(), 0, hexString.length()));
+            ByteBuffer direct = ByteBuffer.allocateDirect(ascii.length).put(ascii).flip();
+            assertArrayEquals(expected, asciiHexToArray(direct.order(random.nextBoolean() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN)));
+
+            if (ascii.length > 0) {
+                int invalidIndex = random.nextInt(ascii.length);
+                ascii[invalidIndex] = (byte) "g/:@`G\u0010\u00B0".charAt(random.nextInt(8));
+                NumberFormatException exception = assertThrows(NumberFormatException.class, () -> asciiHexToArray(ascii, 0, ascii.length));
+                assertTrue(exception.getMessage().endsWith(" at index " + invalidIndex));
+                ByteBuffer invalidDirect = ByteBuffer.allocateDirect(ascii.length).put(ascii).flip();
+                exception = assertThrows(NumberFormatException.class, () -> asciiHexToArray(invalidDirect));
+                assertTrue(exception.getMessage().endsWith(" at index " + invalidIndex));
+                // characters outside of ASCII, which do not fit in the lanes of a block
+                hexString.setCharAt(invalidIndex, "g\u0130\u0660\uFF10".charAt(random.nextInt(4)));
+                exception = assertThrows(NumberFormatException.class, () -> hexToArray(hexString));
+                assertTrue(exception.getMessage().endsWith(" at index " + invalidIndex));
+                exception = assertThrows(NumberFormatException.class, () -> hexToArray(hexString.toString().toCharArray(), 0, hexString.length()));
+                assertTrue(exception.getMessage().endsWith(" at index " + invalidIndex));
+            }
+        }
+    }
+
+    @Test
+    public void parallelHexToArrayTest() {
+        // small inputs are decoded sequentially
+        assertArrayEquals(hexToArray("A 2A"), parallelHexToArray("A 2A"));
+
+        Random random = new Random(42);
+        byte[] expected = new byte[1_500_000];
+        random.nextBytes(expected);
+        StringBuilder hexString = new StringBuilder();
+        for (char character : arrayToHex(expected).toCharArray()) {
+            hexString.append(character);
+            if (random.nextInt(3) == 0) {
+                hexString.append(' ');
+            }
+        }
+        assertArrayEquals(expected, parallelHexToArray(hexString));
+
+        // odd number of digits
+        expected[0] &= 0x0F;
+        hexString.deleteCharAt(0);
+        assertArrayEquals(expected, parallelHexToArray(hexString));
+
+        // the first invalid character is reported, wherever the chunks are
+        hexString.setCharAt(2_000_000, 'x');
+        hexString.setCharAt(3_000_000, 'y');
+        NumberFormatException exception = assertThrows(NumberFormatException.class, () -> parallelHexToArray(hexString));
+        assertEquals("invalid hexadecimal character 'x' at index 2000000", exception.getMessage());
+
+        // a chunk holding only whitespaces, between the two nibbles of a byte
+        char[] characters = new char[3 << 18];
+        Arrays.fill(characters, ' ');
+        characters[0] = '1';
+        characters[2 << 18] = '2';
+        String nibbles = new String(characters);
+        for (int run = 0; run < 50; run++) {
+            assertArrayEquals(new byte[] { 0x12 }, parallelHexToArray(nibbles));
+        }
+    }
+
+    @Test
+    public void hexToArrayIntoDestinationTest() {
+        byte[] destination = new byte[5];
+        assertEquals(3, hexToArray(new StringBuilder("FE 05 4a"), destination, 1));
+        assertArrayEquals(hexToArray("00 FE 05 4A 00"), destination);
+
+        destination = new byte[5];
+        assertEquals(2, hexToArray("-A 05-".toCharArray(), 1, 4, destination, 3));
+        assertArrayEquals(hexToArray("00 00 00 0A 05"), destination);
+
+        destination = new byte[5];
+        assertEquals(1, asciiHexToArray("FE".getBytes(StandardCharsets.US_ASCII), 0, 2, destination, 4));
+        assertArrayEquals(hexToArray("00 00 00 00 FE"), destination);
+
+        destination = new byte[5];
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4).put("12AB".getBytes(StandardCharsets.US_ASCII)).flip();
+        assertEquals(2, asciiHexToArray(buffer, destination, 0));
+        assertArrayEquals(hexToArray("12 AB 00 00 00"), destination);
+        assertEquals(4, buffer.position());
+
+        byte[] tooSmall = new byte[2];
+        assertThrows(IndexOutOfBoundsException.class, () -> hexToArray("FE 05 4a", tooSmall, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> hexToArray("FE 05", tooSmall, 1));
+    }
+
     protected void checkHexToBytes(String inputString, int expectedArrayLength, int expectedIntValue) {
         byte[] result = hexToArray(inputString);
         assertEquals(expectedArrayLength, result.length);
         assertEquals(expectedIntValue, new BigInteger(concat(new byte[] { 0 }, result)).intValue());
     }
 
+    @Test
+    public void tryHexTest() {
+        assertTrue(isHex("FE 05\t4a\r\n"));
+        assertTrue(isHex(""));
+        assertFalse(isHex("FE 0G"));
+        assertFalse(isHex("-1"));
+
+        assertEquals(10, tryHexToByte("A"));
+        assertEquals(255, tryHexToByte("ff"));
+        assertEquals(-1, tryHexToByte(""));
+        assertEquals(-1, tryHexToByte("G"));
+        assertEquals(-1, tryHexToByte(" A"));
+        assertEquals(-1, tryHexToByte("ABC"));
+
+        byte[] destination = new byte[4];
+        assertEquals(3, tryHexToArray("A 05 4a", destination, 1));
+        assertArrayEquals(hexToArray("00 0A 05 4A"), destination);
+        assertEquals(-6, tryHexToArray("A 05 x4a", destination, 0));
+        assertArrayEquals(hexToArray("00 0A 05 4A"), destination);
+        assertThrows(IndexOutOfBoundsException.class, () -> tryHexToArray("A 05 4a", destination, 2));
+    }
+
+    @Test
+    public void arrayToHexTest() {
+        byte[] array = hexToArray("00 2A 80 FF 0b");
+        assertEquals("002A80FF0B", arrayToHex(array));
+        assertEquals("002a80ff0b", arrayToHex(array, false));
+        assertEquals("2A80", arrayToHex(array, 1, 2, true));
+        assertEquals("", arrayToHex(new byte[] {}));
+        assertThrows(IndexOutOfBoundsException.class, () -> arrayToHex(array, 4, 2, true));
+
+        // round trip on every byte value
+        byte[] allValues = new byte[256];
+        for (int value = 0; value < allValues.length; value++) {
+            allValues[value] = (byte) value;
+        }
+        assertArrayEquals(allValues, hexToArray(arrayToHex(allValues)));
+        assertArrayEquals(allValues, hexToArray(arrayToHex(allValues, false)));
+
+        char[] characters = new char[] { '-', '-', '-', '-', '-', '-' };
+        assertEquals(4, arrayToHex(array, 2, 2, characters, 1, false));
+        assertEquals("-80ff-", new String(characters));
+
+        byte[] asciiCharacters = new byte[4];
+        assertEquals(4, arrayToHex(array, 3, 2, asciiCharacters, 0, true));
+        assertEquals("FF0B", new String(asciiCharacters, StandardCharsets.US_ASCII));
+        assertThrows(IndexOutOfBoundsException.class, () -> arrayToHex(array, 0, 3, asciiCharacters, 0, true));
+    }
+
     @Test
     public void equalsTest() {
         byte[] array = hexToArray("FF 37 01 87 53 01 87 45 A9");
@@ -113,6 +332,37 @@ public class ArrayToolsTest {
 
         assertFalse(ArrayTools.equals(array, largerArray));
         assertFalse(ArrayTools.equals(largerArray, array));
+
+        assertTrue(ArrayTools.equals(new byte[0], new byte[0]));
+        assertThrows(NullPointerException.class, () -> ArrayTools.equals(null, null));
+        assertThrows(NullPointerException.class, () -> ArrayTools.equals(array, null));
+    }
+
+    @Test
+    public void mismatchTest() {
+        byte[] array = hexToArray("FF 37 01 87 53 01 87 45 A9");
+
+        assertEquals(-1, mismatch(array, hexToArray("FF 37 01 87 53 01 87 45 A9")));
+        assertEquals(4, mismatch(array, hexToArray("FF 37 01 87 54 01 87 45 A9")));
+        assertEquals(8, mismatch(array, hexToArray("FF 37 01 87 53 01 87 45")));
+
+        assertEquals(-1, mismatch(array, 3, 6, hexToArray("00 87 53 01"), 1, 4));
+        assertEquals(2, mismatch(array, 3, 6, hexToArray("00 87 53 02"), 1, 4));
+        assertEquals(2, mismatch(array, 3, 5, hexToArray("00 87 53 01"), 1, 4));
+    }
+
+    @Test
+    public void compareUnsignedTest() {
+        assertEquals(0, compareUnsigned(hexToArray("01 80"), hexToArray("01 80")));
+        assertTrue(compareUnsigned(hexToArray("01 80"), hexToArray("01 7F")) > 0);
+        assertTrue(compareUnsigned(hexToArray("01 7F"), hexToArray("01 80")) < 0);
+        assertTrue(compareUnsigned(hexToArray("01"), hexToArray("01 00")) < 0);
+        assertTrue(compareUnsigned(hexToArray("FF 01 80"), 1, 3, hexToArray("01 7F 00"), 0, 2) > 0);
+        assertEquals(0, compareUnsigned(hexToArray("FF 01 80"), 1, 3, hexToArray("01 80 00"), 0, 2));
+
+        List<byte[]> keys = new ArrayList<>(List.of(hexToArray("80"), hexToArray("01 FF"), hexToArray("01"), hexToArray("7F"), hexToArray("")));
+        keys.sort(ArrayTools.UNSIGNED_COMPARATOR);
+        assertEquals(List.of("", "01", "01FF", "7F", "80"), keys.stream().map(ArrayTools::arrayToHex).toList());
     }
 
     @Test
@@ -137,6 +387,18 @@ public class ArrayToolsTest {
         assertTrue(bytesEqual(haystack, 0, hexToArray("FF 37 01 87 53 01 87 45 A9"), 0));
         assertTrue(bytesEqual(haystack, 1, hexToArray("37 01 87 53 01 87 45 A9"), 0));
         assertTrue(bytesEqual(haystack, 8, hexToArray("FF 37 01 87 53 01 87 45 A9"), 8));
+
+        // not enough bytes in the haystack
+        assertFalse(bytesEqual(haystack, 8, hexToArray("A9 37")));
+        assertFalse(bytesEqual(haystack, 9, hexToArray("A9")));
+
+        // needles much larger than the stack size
+        byte[] largeHaystack = new byte[1_000_000];
+        new Random(42).nextBytes(largeHaystack);
+        byte[] largeNeedle = Arrays.copyOfRange(largeHaystack, 10, largeHaystack.length);
+        assertTrue(bytesEqual(largeHaystack, 10, largeNeedle));
+        largeNeedle[largeNeedle.length - 1]++;
+        assertFalse(bytesEqual(largeHaystack, 10, largeNeedle));
     }
 
     @Test
@@ -223,6 +485,292 @@ public class ArrayToolsTest {
         assertTrue(indexOfLast(haystack, hexToArray("53 FF"), 9).isEmpty());
     }
 
+    @Test
+    public void indexOfTest() {
+        byte[] haystack = hexToArray("FF 37 01 87 53 01 37 01 A9 37 44 53");
+
+        assertEquals(1, indexOf(haystack, hexToByte("37")));
+        assertEquals(6, indexOf(haystack, hexToByte("37"), 2));
+        assertEquals(-1, indexOf(haystack, hexToByte("37"), 10));
+        assertEquals(-1, indexOf(haystack, hexToByte("F2")));
+        assertEquals(9, lastIndexOf(haystack, hexToByte("37")));
+        assertEquals(6, lastIndexOf(haystack, hexToByte("37"), 8));
+        assertEquals(-1, lastIndexOf(haystack, hexToByte("37"), 0));
+        assertEquals(-1, lastIndexOf(haystack, hexToByte("FF"), -1));
+
+        assertEquals(1, indexOf(haystack, hexToArray("37 01")));
+        assertEquals(6, indexOf(haystack, hexToArray("37 01"), 2));
+        assertEquals(-1, indexOf(haystack, hexToArray("37 01"), 7));
+        assertEquals(10, indexOf(haystack, hexToArray("44 53"), 10));
+        assertEquals(-1, indexOf(haystack, hexToArray("53 02")));
+        assertEquals(6, lastIndexOf(haystack, hexToArray("37 01")));
+        assertEquals(1, lastIndexOf(haystack, hexToArray("37 01"), 5));
+        assertEquals(-1, lastIndexOf(haystack, hexToArray("37 01"), 0));
+        assertEquals(10, lastIndexOf(haystack, hexToArray("44 53")));
+    }
+
+    @Test
+    public void indexOfByteBlocksTest() {
+        // few distinct values (including 0x00, 0x01, 0x80 and 0xFF) so that the needles appear in various lanes of the blocks
+        byte[] values = { 0x00, 0x01, (byte) 0x80, (byte) 0xFF, 0x7F, 0x0A };
+        Random random = new Random(17);
+        for (int length = 0; length < 140; length++) {
+            byte[] haystack = new byte[length];
+            for (int index = 0; index < length; index++) {
+                haystack[index] = (random.nextInt(4) == 0) ? values[random.nextInt(values.length)] : 0x01;
+            }
+            for (byte needle : values) {
+                for (int offset = 0; offset <= length; offset++) {
+                    int expected = -1;
+                    for (int index = offset; index < length; index++) {
+                        if (haystack[index] == needle) {
+                            expected = index;
+                            break;
+                        }
+                    }
+                    assertEquals(expected, indexOf(haystack, needle, offset));
+                }
+                for (int offset = -1; offset < length; offset++) {
+                    int expected = -1;
+                    for (int index = offset; index >= 0; index--) {
+                        if (haystack[index] == needle) {
+                            expected = index;
+                            break;
+                        }
+                    }
+                    assertEquals(expected, lastIndexOf(haystack, needle, offset));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void indexOfAnyTest() {
+        byte[] line = "name,\"value\"\r\n".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(4, indexOfAny(line, (byte) ',', (byte) '"', (byte) '\r', (byte) '\n'));
+        assertEquals(5, indexOfAny(line, (byte) '"', (byte) '\n'));
+        assertEquals(11, indexOfAny(line, 6, line.length, new byte[] { '\n', '\r', '"' }));
+        assertEquals(12, indexOfAny(line, 6, line.length, new byte[] { '\n', '\r' }));
+        assertEquals(-1, indexOfAny(line, 0, 4, new byte[] { ',', '"', '\r', '\n', ';' }));
+        assertEquals(-1, indexOfAny(line));
+        assertEquals(13, lastIndexOfAny(line, (byte) '"', (byte) '\n'));
+        assertEquals(11, lastIndexOfAny(line, 0, 12, new byte[] { '"', '\n', ',' }));
+        assertEquals(-1, lastIndexOfAny(line, 5, 5, new byte[] { '"' }));
+        assertThrows(IndexOutOfBoundsException.class, () -> indexOfAny(line, 2, 15, new byte[] { '"' }));
+        assertThrows(IndexOutOfBoundsException.class, () -> lastIndexOfAny(line, 3, 2, new byte[] { '"' }));
+
+        // few distinct values (including 0x00, 0x01, 0x80 and 0xFF) so that the values appear in various lanes of the blocks
+        byte[] values = { 0x00, 0x01, (byte) 0x80, (byte) 0xFF, 0x7F, 0x0A, 0x2C };
+        Random random = new Random(24);
+        for (int attempt = 0; attempt < 3000; attempt++) {
+            byte[] haystack = new byte[random.nextInt(100)];
+            for (int index = 0; index < haystack.length; index++) {
+                haystack[index] = (random.nextInt(6) == 0) ? values[random.nextInt(values.length)] : 0x01;
+            }
+            byte[] set = new byte[random.nextInt(6)];
+            for (int index = 0; index < set.length; index++) {
+                set[index] = values[random.nextInt(values.length)];
+            }
+            int fromIndex = random.nextInt(haystack.length + 1);
+            int toIndex = fromIndex + random.nextInt(haystack.length - fromIndex + 1);
+            int expectedFirst = -1;
+            int expectedLast = -1;
+            for (int index = fromIndex; index < toIndex; index++) {
+                for (byte value : set) {
+                    if (haystack[index] == value) {
+                        expectedFirst = (expectedFirst < 0) ? index : expectedFirst;
+                        expectedLast = index;
+                    }
+                }
+            }
+            assertEquals(expectedFirst, indexOfAny(haystack, fromIndex, toIndex, set));
+            assertEquals(expectedLast, lastIndexOfAny(haystack, fromIndex, toIndex, set));
+        }
+    }
+
+    @Test
+    public void indexOfNotTest() {
+        byte[] record = hexToArray("00 00 00 2A 00 17 00 00");
+        assertEquals(3, indexOfNot(record, (byte) 0));
+        assertEquals(Optional.of(3), indexOfFirstNot(record, (byte) 0));
+        assertEquals(5, lastIndexOfNot(record, (byte) 0));
+        assertEquals(Optional.of(5), indexOfLastNot(record, (byte) 0));
+        assertEquals(5, indexOfNot(record, 4, 8, (byte) 0));
+        assertEquals(-1, indexOfNot(record, 6, 8, (byte) 0));
+        assertEquals(3, lastIndexOfNot(record, 0, 5, (byte) 0));
+        assertEquals(Optional.empty(), indexOfFirstNot(new byte[] { 7, 7 }, (byte) 7));
+        assertEquals(Optional.empty(), indexOfLastNot(new byte[0], (byte) 7));
+        assertThrows(IndexOutOfBoundsException.class, () -> indexOfNot(record, 0, 9, (byte) 0));
+
+        assertTrue(isAllZero(new byte[100]));
+        assertTrue(isAllZero(record, 6, 8));
+        assertFalse(isAllZero(record));
+        assertTrue(isAllEqual(new byte[0], (byte) 1));
+        assertTrue(isAllEqual(hexToArray("20 20 20"), (byte) 0x20));
+        assertFalse(isAllEqual(record, 2, 4, (byte) 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> isAllZero(record, 4, 2));
+
+        // few distinct values (including 0x00, 0x01, 0x80 and 0xFF) so that the differences appear in various lanes of the blocks
+        byte[] values = { 0x00, 0x01, (byte) 0x80, (byte) 0xFF };
+        Random random = new Random(25);
+        for (int attempt = 0; attempt < 3000; attempt++) {
+            byte padding = values[random.nextInt(values.length)];
+            byte[] haystack = new byte[random.nextInt(100)];
+            for (int index = 0; index < haystack.length; index++) {
+                haystack[index] = (random.nextInt(20) == 0) ? values[random.nextInt(values.length)] : padding;
+            }
+            int fromIndex = random.nextInt(haystack.length + 1);
+            int toIndex = fromIndex + random.nextInt(haystack.length - fromIndex + 1);
+            int expectedFirst = -1;
+            int expectedLast = -1;
+            for (int index = fromIndex; index < toIndex; index++) {
+                if (haystack[index] != padding) {
+                    expectedFirst = (expectedFirst < 0) ? index : expectedFirst;
+                    expectedLast = index;
+                }
+            }
+            assertEquals(expectedFirst, indexOfNot(haystack, fromIndex, toIndex, padding));
+            assertEquals(expectedLast, lastIndexOfNot(haystack, fromIndex, toIndex, padding));
+            assertEquals(expectedFirst < 0, isAllEqual(haystack, fromIndex, toIndex, padding));
+        }
+    }
+
+    @Test
+    public void spanOfTest() {
+        byte[] line = "  \t key = value".getBytes(StandardCharsets.US_ASCII);
+        byte[] whitespace = { ' ', '\t' };
+        assertEquals(4, spanOf(line, 0, line.length, whitespace));
+        assertEquals(0, spanOf(line, 4, line.length, whitespace));
+        assertEquals(2, spanOf(line, 0, line.length, new byte[] { ' ' }));
+        assertEquals(3, spanOf(line, 0, 3, new byte[] { ' ', '\t', '\r', '\n' }));
+        assertEquals(0, spanOf(line, 0, line.length, new byte[0]));
+        assertEquals(6, spanOf(line, 4, line.length, "key= ".getBytes(StandardCharsets.US_ASCII)));
+        assertThrows(IndexOutOfBoundsException.class, () -> spanOf(line, -1, 2, whitespace));
+
+        byte[] values = { 0x00, 0x01, (byte) 0x80, (byte) 0xFF, 0x7F, 0x20, 0x09 };
+        Random random = new Random(26);
+        for (int attempt = 0; attempt < 3000; attempt++) {
+            byte[] set = new byte[random.nextInt(6)];
+            for (int index = 0; index < set.length; index++) {
+                set[index] = values[random.nextInt(values.length)];
+            }
+            byte[] haystack = new byte[random.nextInt(100)];
+            for (int index = 0; index < haystack.length; index++) {
+                haystack[index] = ((set.length > 0) && (random.nextInt(30) != 0)) ? set[random.nextInt(set.length)]
+                        : values[random.nextInt(values.length)];
+            }
+            int fromIndex = random.nextInt(haystack.length + 1);
+            int toIndex = fromIndex + random.nextInt(haystack.length - fromIndex + 1);
+            int expected = 0;
+            while ((fromIndex + expected < toIndex) && contains(set, haystack[fromIndex + expected])) {
+                expected++;
+            }
+            assertEquals(expected, spanOf(haystack, fromIndex, toIndex, set));
+        }
+    }
+
+    private static boolean contains(byte[] set, byte value) {
+        for (byte element : set) {
+            if (element == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void indexOfArrayLongTest() {
+        // small alphabet so that the needles are found, and partially matched often
+        Random random = new Random(19);
+        for (int attempt = 0; attempt < 200; attempt++) {
+            byte[] haystack = new byte[random.nextInt(1200)];
+            for (int index = 0; index < haystack.length; index++) {
+                haystack[index] = (byte) random.nextInt(3);
+            }
+            byte[] needle;
+            if (haystack.length > 0 && random.nextBoolean()) {
+                int start = random.nextInt(haystack.length);
+                needle = Arrays.copyOfRange(haystack, start, Math.min(haystack.length, start + random.nextInt(40)));
+            } else {
+                needle = new byte[random.nextInt(12)];
+                for (int index = 0; index < needle.length; index++) {
+                    needle[index] = (byte) random.nextInt(3);
+                }
+            }
+            int offset = random.nextInt(haystack.length + needle.length + 2);
+            assertEquals(naiveIndexOf(haystack, needle, 0), indexOf(haystack, needle));
+            assertEquals(naiveIndexOf(haystack, needle, offset), indexOf(haystack, needle, offset));
+            assertEquals(naiveLastIndexOf(haystack, needle, haystack.length - 1), lastIndexOf(haystack, needle));
+            assertEquals(naiveLastIndexOf(haystack, needle, offset), lastIndexOf(haystack, needle, offset));
+        }
+    }
+
+    @Test
+    public void indexOfArrayAdversarialTest() {
+        // every window matches the last (or first) byte of the needle, and half of it : quadratic without the Two-Way fallback
+        byte[] haystack = new byte[1 << 20];
+        Arrays.fill(haystack, (byte) 'a');
+        byte[] needle = new byte[401];
+        Arrays.fill(needle, (byte) 'a');
+        needle[200] = 'b';
+        assertEquals(-1, indexOf(haystack, needle));
+        assertEquals(-1, lastIndexOf(haystack, needle));
+        assertEquals(-1, indexOf(haystack, needle, 5000));
+        assertEquals(-1, lastIndexOf(haystack, needle, 5000));
+
+        System.arraycopy(needle, 0, haystack, 700_000, needle.length);
+        System.arraycopy(needle, 0, haystack, 300_000, needle.length);
+        assertEquals(300_000, indexOf(haystack, needle));
+        assertEquals(700_000, indexOf(haystack, needle, 300_001));
+        assertEquals(700_000, lastIndexOf(haystack, needle));
+        assertEquals(300_000, lastIndexOf(haystack, needle, 699_999));
+        assertEquals(List.of(300_000, 700_000 - 300_000 - needle.length, haystack.length - 700_000 - needle.length),
+            split(needle, haystack).stream().map(part -> part.length).toList());
+
+        // periodic needles (with the same alphabet as the haystack), compared with the original implementations
+        Random random = new Random(20);
+        for (int attempt = 0; attempt < 300; attempt++) {
+            byte[] period = new byte[1 + random.nextInt(6)];
+            for (int index = 0; index < period.length; index++) {
+                period[index] = (byte) random.nextInt(2);
+            }
+            byte[] periodicNeedle = new byte[4 + random.nextInt(60)];
+            for (int index = 0; index < periodicNeedle.length; index++) {
+                periodicNeedle[index] = period[index % period.length];
+            }
+            periodicNeedle[random.nextInt(periodicNeedle.length)] ^= random.nextInt(2);
+            byte[] periodicHaystack = new byte[256 + random.nextInt(2000)];
+            for (int index = 0; index < periodicHaystack.length; index++) {
+                periodicHaystack[index] = (random.nextInt(50) == 0) ? (byte) random.nextInt(2) : period[index % period.length];
+            }
+            int offset = random.nextInt(periodicHaystack.length);
+            assertEquals(naiveIndexOf(periodicHaystack, periodicNeedle, offset), indexOf(periodicHaystack, periodicNeedle, offset));
+            assertEquals(naiveLastIndexOf(periodicHaystack, periodicNeedle, periodicHaystack.length - offset),
+                lastIndexOf(periodicHaystack, periodicNeedle, periodicHaystack.length - offset));
+        }
+    }
+
+    /**
+     * The original implementations of the search methods.
+     */
+    private static int naiveIndexOf(byte[] hayStack, byte[] needle, int hayStackOffset) {
+        for (int index = hayStackOffset; index < (hayStack.length - (needle.length - 1)); index++) {
+            if (bytesEqual(hayStack, index, needle, 0)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int naiveLastIndexOf(byte[] hayStack, byte[] needle, int hayStackOffset) {
+        for (int index = hayStackOffset; index >= 0; index--) {
+            if (bytesEqual(hayStack, index, needle, 0)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
     @Test
     public void concatTest() {
         byte[] first = hexToArray("FF 37");
@@ -318,5 +866,8 @@ public class ArrayToolsTest {
         assertEquals(2, result.size());
         assertTrue(bytesEqual(result.get(0), 0, hexToArray("55 11")));
         assertTrue(bytesEqual(result.get(1), 0, hexToArray("FE")));
+
+        // an empty separator would be found again and again at the same index
+        assertThrows(IllegalArgumentException.class, () -> split(new byte[0], hexToArray("55 11")));
     }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.devtoolbox.util.array.ArrayTools.hexToArray;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.devtoolbox.util.array.ByteArrayKey;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link ByteArrayKey}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class ByteArrayKeyTest {
+
+    @Test
+    public void equalsTest() {
+        byte[] array = hexToArray("00 01 02 03 01 02 FF");
+        ByteArrayKey range = ByteArrayKey.wrap(array, 1, 3);
+        ByteArrayKey otherRange = ByteArrayKey.wrap(array, 4, 6);
+        ByteArrayKey copy = ByteArrayKey.copyOf(hexToArray("FF 01 02"), 1, 3);
+
+        assertEquals(range, otherRange);
+        assertEquals(range, copy);
+        assertEquals(range.hashCode(), otherRange.hashCode());
+        assertEquals(range.hashCode(), copy.hashCode());
+        assertNotEquals(range, ByteArrayKey.wrap(array, 1, 4));
+        assertNotEquals(range, ByteArrayKey.wrap(array, 2, 4));
+        assertFalse(range.equals(array));
+        assertEquals(ByteArrayKey.wrap(new byte[0]), ByteArrayKey.wrap(array, 3, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> ByteArrayKey.wrap(array, 5, 8));
+
+        Map<ByteArrayKey, String> map = new HashMap<>();
+        map.put(range, "0102");
+        assertEquals("0102", map.get(ByteArrayKey.wrap(hexToArray("01 02"))));
+    }
+
+    @Test
+    public void accessorsTest() {
+        byte[] array = hexToArray("00 01 02 03 FF");
+        ByteArrayKey key = ByteArrayKey.wrap(array, 2, 5);
+        assertEquals(3, key.length());
+        assertEquals((byte) 0xFF, key.byteAt(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> key.byteAt(3));
+        assertArrayEquals(hexToArray("02 03 FF"), key.toByteArray());
+        assertEquals("0203FF", key.toString());
+        assertTrue(key.contentEquals(hexToArray("03 02 03 FF"), 1, 4));
+        assertFalse(key.contentEquals(hexToArray("03 02 03 FF"), 0, 3));
+
+        ByteBuffer buffer = key.asReadOnlyBuffer();
+        assertTrue(buffer.isReadOnly());
+        assertEquals(ByteBuffer.wrap(hexToArray("02 03 FF")), buffer);
+
+        // copies are not affected by changes to the source array
+        ByteArrayKey copy = ByteArrayKey.copyOf(array);
+        array[0] = 7;
+        assertEquals("00010203FF", copy.toString());
+    }
+
+    @Test
+    public void compareToTest() {
+        TreeSet<ByteArrayKey> keys = new TreeSet<>(List.of(ByteArrayKey.wrap(hexToArray("80")), ByteArrayKey.wrap(hexToArray("01 FF")),
+            ByteArrayKey.wrap(hexToArray("01")), ByteArrayKey.wrap(hexToArray("7F"))));
+        assertEquals("[01, 01FF, 7F, 80]", keys.toString());
+    }
+
+    @Test
+    public void internerTest() {
+        ByteArrayKey.Interner interner = new ByteArrayKey.Interner();
+        byte[] message = hexToArray("AA 01 02 BB 01 02");
+        ByteArrayKey first = interner.intern(message, 1, 3);
+        assertSame(first, interner.intern(message, 4, 6));
+        assertSame(first, interner.intern(hexToArray("01 02")));
+        assertSame(first, interner.intern(ByteArrayKey.wrap(message, 4, 6)));
+        assertEquals(1, interner.size());
+
+        // the interned key is a copy
+        message[1] = 0;
+        assertEquals("0102", first.toString());
+
+        assertEquals("AA", interner.intern(message, 0, 1).toString());
+        assertEquals(2, interner.size());
+        interner.clear();
+        assertEquals(0, interner.size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import org.devtoolbox.util.array.ByteHashes;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link ByteHashes}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class ByteHashesTest {
+
+    private static final byte[] FOX = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void xxHash64Test() {
+        // values of the reference implementation
+        assertEquals(0xEF46DB3751D8E999L, ByteHashes.xxHash64(new byte[0]));
+        assertEquals(0x44BC2CF5AD770999L, ByteHashes.xxHash64("abc".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(0xFBCEA83C8A378BF1L, ByteHashes.xxHash64("Nobody inspects the spammish repetition".getBytes(StandardCharsets.US_ASCII)));
+
+        byte[] array = randomBytes(1000);
+        assertNotEquals(ByteHashes.xxHash64(array, 0, array.length, 0), ByteHashes.xxHash64(array, 0, array.length, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> ByteHashes.xxHash64(array, 990, 11, 0));
+        for (int length = 0; length < 100; length++) {
+            byte[] range = new byte[length];
+            System.arraycopy(array, 7, range, 0, length);
+            long expected = ByteHashes.xxHash64(range, 0, length, 42);
+            assertEquals(expected, ByteHashes.xxHash64(array, 7, length, 42));
+            assertEquals(expected, ByteHashes.xxHash64(ByteBuffer.wrap(array, 7, length), 42));
+            ByteBuffer direct = ByteBuffer.allocateDirect(length + 3).order(ByteOrder.BIG_ENDIAN);
+            direct.position(3);
+            direct.put(range).position(3);
+            assertEquals(expected, ByteHashes.xxHash64(direct, 42));
+            assertEquals(3, direct.position());
+        }
+    }
+
+    @Test
+    public void xxHash64ListTest() {
+        List<byte[]> arrays = List.of(new byte[0], FOX, randomBytes(77));
+        long[] hashes = ByteHashes.xxHash64(arrays, 5);
+        assertEquals(3, hashes.length);
+        for (int index = 0; index < hashes.length; index++) {
+            assertEquals(ByteHashes.xxHash64(arrays.get(index), 0, arrays.get(index).length, 5), hashes[index]);
+        }
+    }
+
+    @Test
+    public void murmur3x86_32Test() {
+        // values of the reference implementation
+        assertEquals(0, ByteHashes.murmur3x86_32(new byte[0]));
+        assertEquals(0x248BFA47, ByteHashes.murmur3x86_32("hello".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(0x2E4FF723, ByteHashes.murmur3x86_32(FOX));
+
+        assertNotEquals(ByteHashes.murmur3x86_32(FOX, 0, FOX.length, 0), ByteHashes.murmur3x86_32(FOX, 0, FOX.length, 1));
+        assertEquals(ByteHashes.murmur3x86_32("quick".getBytes(StandardCharsets.US_ASCII), 0, 5, 9), ByteHashes.murmur3x86_32(FOX, 4, 5, 9));
+        ByteBuffer direct = ByteBuffer.allocateDirect(FOX.length).put(FOX).position(4).limit(9);
+        assertEquals(ByteHashes.murmur3x86_32(FOX, 4, 5, 9), ByteHashes.murmur3x86_32(direct, 9));
+        assertEquals(4, direct.position());
+    }
+
+    @Test
+    public void murmur3x64_128Test() {
+        // values of the reference implementation
+        assertArrayEquals(new long[] { 0, 0 }, ByteHashes.murmur3x64_128(new byte[0]));
+        assertArrayEquals(new long[] { 0xCBD8A7B341BD9B02L, 0x5B1E906A48AE1D19L }, ByteHashes.murmur3x64_128("hello".getBytes(StandardCharsets.US_ASCII)));
+        assertArrayEquals(new long[] { 0xE34BBC7BBC071B6CL, 0x7A433CA9C49A9347L }, ByteHashes.murmur3x64_128(FOX));
+
+        byte[] quick = "quick brown fox jumps".getBytes(StandardCharsets.US_ASCII);
+        assertArrayEquals(ByteHashes.murmur3x64_128(quick, 0, quick.length, 3), ByteHashes.murmur3x64_128(FOX, 4, quick.length, 3));
+        assertArrayEquals(ByteHashes.murmur3x64_128(quick, 0, quick.length, 3), ByteHashes.murmur3x64_128(ByteBuffer.wrap(FOX, 4, quick.length), 3));
+        ByteBuffer direct = ByteBuffer.allocateDirect(quick.length).put(quick).flip();
+        assertArrayEquals(ByteHashes.murmur3x64_128(quick, 0, quick.length, 3), ByteHashes.murmur3x64_128(direct, 3));
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] array = new byte[length];
+        new Random(length).nextBytes(array);
+        return array;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.devtoolbox.util.array.ArrayTools.hexToArray;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.devtoolbox.util.array.ArrayTools;
+import org.devtoolbox.util.array.ByteSearcher;
+import org.devtoolbox.util.array.ByteSearcherCache;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link ByteSearcherCache}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class ByteSearcherCacheTest {
+
+    @Test
+    public void cacheTest() {
+        ByteSearcherCache cache = new ByteSearcherCache(100);
+        assertEquals(0, cache.hitRate());
+        byte[] needle = hexToArray("0D 0A 0D 0A");
+        ByteSearcher searcher = cache.get(needle);
+        assertSame(searcher, cache.get(hexToArray("0D 0A 0D 0A")));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(0.5, cache.hitRate());
+
+        // the cache keeps its own copy of the needle
+        needle[0] = 0;
+        assertSame(searcher, cache.get(hexToArray("0D 0A 0D 0A")));
+        assertEquals(1, cache.size());
+
+        // invalid needles are reported each time, and not cached
+        assertThrows(IllegalArgumentException.class, () -> cache.get(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> cache.get(new byte[0]));
+        assertEquals(1, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void evictionTest() {
+        ByteSearcherCache cache = new ByteSearcherCache(40);
+        for (int value = 0; value < 1000; value++) {
+            cache.get(new byte[] { (byte) value, (byte) (value >> 8) });
+            assertTrue(cache.size() <= 40);
+        }
+        // the most recently used needles are kept
+        cache.get(new byte[] { (byte) 999, (byte) (999 >> 8) });
+        assertEquals(1, cache.hitCount());
+
+        assertThrows(IllegalArgumentException.class, () -> new ByteSearcherCache(0));
+    }
+
+    @Test
+    public void arrayToolsTest() {
+        ByteSearcherCache cache = new ByteSearcherCache(10);
+        ArrayTools.setSearcherCache(cache);
+        try {
+            assertSame(cache, ArrayTools.getSearcherCache());
+            byte[] haystack = hexToArray("FF 37 01 87 53 01 37 01 A9 37 44 53");
+            assertEquals(1, ArrayTools.indexOf(haystack, hexToArray("37 01")));
+            assertEquals(6, ArrayTools.indexOf(haystack, hexToArray("37 01"), 2));
+            assertEquals(-1, ArrayTools.indexOf(haystack, hexToArray("37 01"), 12));
+            assertEquals(6, ArrayTools.lastIndexOf(haystack, hexToArray("37 01")));
+            assertEquals(1, ArrayTools.lastIndexOf(haystack, hexToArray("37 01"), 5));
+            assertEquals(-1, ArrayTools.lastIndexOf(haystack, hexToArray("37 01"), -1));
+            assertEquals(6, ArrayTools.indexOfLast(haystack, hexToArray("37 01")).orElse(-1));
+            assertEquals(3, ArrayTools.split(hexToArray("37 01"), haystack).size());
+            assertEquals(1, cache.missCount());
+            assertEquals(7, cache.hitCount());
+
+            // single bytes and empty needles are not compiled
+            assertEquals(1, ArrayTools.indexOf(haystack, hexToArray("37")));
+            assertEquals(3, ArrayTools.indexOf(haystack, new byte[0], 3));
+            assertEquals(1, cache.size());
+        } finally {
+            ArrayTools.setSearcherCache(null);
+        }
+        assertNull(ArrayTools.getSearcherCache());
+    }
+}
\ No newline at end of file
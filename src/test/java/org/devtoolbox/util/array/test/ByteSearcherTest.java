@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.devtoolbox.util.array.ArrayTools.hexToArray;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.devtoolbox.util.array.ArrayTools;
+import org.devtoolbox.util.array.ByteSearcher;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link ByteSearcher}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class ByteSearcherTest {
+
+    @Test
+    public void compileTest() {
+        assertThrows(IllegalArgumentException.class, () -> ByteSearcher.compile(new byte[0]));
+
+        byte[] needle = hexToArray("01 02 03 04");
+        ByteSearcher searcher = ByteSearcher.compile(needle);
+        needle[0] = 0;
+        assertEquals(4, searcher.length());
+        assertArrayEquals(hexToArray("01 02 03 04"), searcher.needle());
+        assertEquals(2, searcher.indexOf(hexToArray("00 00 01 02 03 04")));
+    }
+
+    @Test
+    public void indexOfTest() {
+        byte[] haystack = hexToArray("FF 37 01 87 53 01 37 01 A9 37 44 53 37 01 87 53");
+        ByteSearcher searcher = ByteSearcher.compile(hexToArray("37 01 87 53"));
+        assertEquals(1, searcher.indexOf(haystack));
+        assertEquals(12, searcher.indexOf(haystack, 2, 16));
+        assertEquals(-1, searcher.indexOf(haystack, 2, 15));
+        assertEquals(12, searcher.lastIndexOf(haystack));
+        assertEquals(1, searcher.lastIndexOf(haystack, 0, 15));
+        assertEquals(-1, searcher.lastIndexOf(haystack, 2, 15));
+        assertThrows(IndexOutOfBoundsException.class, () -> searcher.indexOf(haystack, 2, 17));
+        assertThrows(IndexOutOfBoundsException.class, () -> searcher.lastIndexOf(haystack, 3, 2));
+    }
+
+    @Test
+    public void bufferTest() {
+        byte[] haystack = hexToArray("FF 37 01 87 53 01 37 01 A9 37 44 53 37 01 87 53");
+        ByteSearcher searcher = ByteSearcher.compile(hexToArray("37 01"));
+        ByteBuffer slice = ByteBuffer.wrap(haystack, 3, 10).slice();
+        assertEquals(3, searcher.indexOf(slice));
+        assertEquals(3, searcher.lastIndexOf(slice.limit(10)));
+        assertEquals(-1, searcher.indexOf(slice.position(4).limit(9)));
+        assertEquals(4, slice.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(haystack.length).put(haystack).position(2);
+        assertEquals(6, searcher.indexOf(direct));
+        assertEquals(12, searcher.lastIndexOf(direct));
+        assertEquals(2, searcher.countIn(direct));
+        assertArrayEquals(new int[] { 6, 12 }, searcher.findAll(direct));
+        assertEquals(2, direct.position());
+    }
+
+    @Test
+    public void largeDirectBufferTest() {
+        // occurences across the chunks copied from direct buffers
+        byte[] needle = "--boundary--".getBytes();
+        byte[] haystack = new byte[300_000];
+        Random random = new Random(21);
+        random.nextBytes(haystack);
+        int[] expected = new int[60];
+        for (int index = 0; index < expected.length; index++) {
+            // the 14th one straddles the end of the first chunk
+            expected[index] = (index == 13) ? 65530 : 5000 * index + random.nextInt(4000);
+            System.arraycopy(needle, 0, haystack, expected[index], needle.length);
+        }
+        ByteSearcher searcher = ByteSearcher.compile(needle);
+        assertArrayEquals(expected, searcher.findAll(haystack));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(haystack.length).put(haystack).flip();
+        assertArrayEquals(expected, searcher.findAll(direct));
+        assertEquals(expected.length, searcher.countIn(direct));
+        assertEquals(expected[0], searcher.indexOf(direct));
+        assertEquals(expected[expected.length - 1], searcher.lastIndexOf(direct));
+        assertEquals(expected[14], searcher.indexOf(direct.position(expected[13] + 1)));
+        assertEquals(expected[13], searcher.lastIndexOf(direct.position(0).limit(expected[14] + needle.length - 1)));
+    }
+
+    @Test
+    public void countInTest() {
+        byte[] haystack = "aaaaabaabaaa".getBytes();
+        assertEquals(2, ByteSearcher.compile("aa".getBytes()).countIn(haystack, 0, 5));
+        assertArrayEquals(new int[] { 0, 2, 6, 9 }, ByteSearcher.compile("aa".getBytes()).findAll(haystack));
+        assertArrayEquals(new int[] { 5, 8 }, ByteSearcher.compile("b".getBytes()).findAll(haystack));
+        assertArrayEquals(new int[] { 3 }, ByteSearcher.compile("aabaa".getBytes()).findAll(haystack, 1, 12));
+        assertArrayEquals(new int[0], ByteSearcher.compile("abba".getBytes()).findAll(haystack));
+    }
+
+    @Test
+    public void algorithmsTest() {
+        // needles of various lengths and alphabets, to use all the algorithms, compared with ArrayTools
+        Random random = new Random(22);
+        for (int attempt = 0; attempt < 500; attempt++) {
+            int alphabet = 2 + random.nextInt(3);
+            byte[] haystack = new byte[random.nextInt(1000)];
+            for (int index = 0; index < haystack.length; index++) {
+                haystack[index] = (byte) (random.nextInt(alphabet) * 0x55);
+            }
+            byte[] needle = new byte[1 + random.nextInt(9)];
+            for (int index = 0; index < needle.length; index++) {
+                needle[index] = (byte) (random.nextInt(alphabet) * 0x55);
+            }
+            ByteSearcher searcher = ByteSearcher.compile(needle);
+            int fromIndex = random.nextInt(haystack.length + 1);
+            int toIndex = fromIndex + random.nextInt(haystack.length - fromIndex + 1);
+            byte[] range = Arrays.copyOfRange(haystack, fromIndex, toIndex);
+            int expected = ArrayTools.indexOf(range, needle);
+            assertEquals((expected < 0) ? -1 : fromIndex + expected, searcher.indexOf(haystack, fromIndex, toIndex));
+            expected = ArrayTools.lastIndexOf(range, needle);
+            assertEquals((expected < 0) ? -1 : fromIndex + expected, searcher.lastIndexOf(haystack, fromIndex, toIndex));
+        }
+    }
+
+    @Test
+    public void splitTest() {
+        ByteSearcher separator = ByteSearcher.compile(hexToArray("0D 0A"));
+        List<byte[]> parts = ArrayTools.split(separator, hexToArray("01 0D 0A 0D 0A 02 03 0D 0A"));
+        assertEquals(4, parts.size());
+        assertArrayEquals(hexToArray("01"), parts.get(0));
+        assertArrayEquals(new byte[0], parts.get(1));
+        assertArrayEquals(hexToArray("02 03"), parts.get(2));
+        assertArrayEquals(new byte[0], parts.get(3));
+        assertEquals(1, ArrayTools.split(separator, new byte[0]).size());
+        assertThrows(IllegalArgumentException.class, () -> ArrayTools.split(new byte[0], hexToArray("01")));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.devtoolbox.util.array.ArrayTools.hexToArray;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+
+import org.devtoolbox.util.array.CachingHexDecoder;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link CachingHexDecoder}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class CachingHexDecoderTest {
+
+    @Test
+    public void cacheTest() {
+        CachingHexDecoder decoder = new CachingHexDecoder(100);
+        byte[] first = decoder.hexToArray("FE 05 4a");
+        assertArrayEquals(hexToArray("FE 05 4a"), first);
+        assertEquals(0, decoder.hitCount());
+        assertEquals(1, decoder.missCount());
+
+        // the cached array can not be changed through the results
+        first[0] = 0;
+        assertArrayEquals(hexToArray("FE 05 4a"), decoder.hexToArray("FE 05 4a"));
+        ByteBuffer buffer = decoder.hexToBuffer("FE 05 4a");
+        assertTrue(buffer.isReadOnly());
+        assertEquals((byte) 0xFE, buffer.get(0));
+        assertThrows(ReadOnlyBufferException.class, () -> buffer.put(0, (byte) 0));
+        assertEquals(2, decoder.hitCount());
+        assertEquals(1, decoder.missCount());
+        assertEquals(1, decoder.size());
+
+        // invalid inputs are reported each time, and not cached
+        assertThrows(NumberFormatException.class, () -> decoder.hexToArray("FE 0G"));
+        assertThrows(NumberFormatException.class, () -> decoder.hexToArray("FE 0G"));
+        assertEquals(1, decoder.size());
+
+        decoder.clear();
+        assertEquals(0, decoder.size());
+    }
+
+    @Test
+    public void evictionTest() {
+        CachingHexDecoder decoder = new CachingHexDecoder(40);
+        for (int value = 0; value < 1000; value++) {
+            decoder.hexToArray(Integer.toHexString(value));
+            assertTrue(decoder.size() <= 40);
+        }
+        // the most recently used values are kept
+        decoder.hexToArray(Integer.toHexString(999));
+        assertEquals(1, decoder.hitCount());
+
+        assertThrows(IllegalArgumentException.class, () -> new CachingHexDecoder(0));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.devtoolbox.util.array.ArrayTools.hexToArray;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.devtoolbox.util.array.HexByteView;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link HexByteView}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class HexByteViewTest {
+
+    @Test
+    public void byteAtTest() {
+        HexByteView view = new HexByteView("002A80FF0b");
+        assertEquals(5, view.length());
+        assertEquals((byte) 0x2A, view.byteAt(1));
+        assertEquals((byte) 0x0B, view.byteAt(4));
+        assertArrayEquals(hexToArray("002A80FF0b"), view.toByteArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> view.byteAt(5));
+
+        // odd number of digits
+        HexByteView oddView = new HexByteView("--A2B--", 2, 5);
+        assertEquals(2, oddView.length());
+        assertEquals((byte) 0x0A, oddView.byteAt(0));
+        assertEquals((byte) 0x2B, oddView.byteAt(1));
+
+        assertEquals(0, new HexByteView("").length());
+    }
+
+    @Test
+    public void invalidCharactersTest() {
+        HexByteView view = new HexByteView("002A x0");
+        // only the bytes that are read are checked
+        assertEquals((byte) 0x02, view.byteAt(1));
+        assertThrows(NumberFormatException.class, () -> view.byteAt(2));
+        NumberFormatException exception = assertThrows(NumberFormatException.class, () -> view.byteAt(3));
+        assertEquals("invalid hexadecimal character 'x' at index 5", exception.getMessage());
+    }
+}
\ No newline at end of file
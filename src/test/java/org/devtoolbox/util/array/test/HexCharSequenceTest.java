@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.devtoolbox.util.array.ArrayTools.arrayToHex;
+import static org.devtoolbox.util.array.ArrayTools.hexToArray;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.regex.Pattern;
+
+import org.devtoolbox.util.array.HexCharSequence;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link HexCharSequence}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class HexCharSequenceTest {
+
+    @Test
+    public void charSequenceTest() {
+        byte[] array = hexToArray("00 2A 80 FF 0b");
+        HexCharSequence sequence = new HexCharSequence(array);
+        assertEquals(10, sequence.length());
+        assertEquals('2', sequence.charAt(2));
+        assertEquals('A', sequence.charAt(3));
+        assertEquals(arrayToHex(array), sequence.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> sequence.charAt(10));
+
+        HexCharSequence lowerCaseSequence = new HexCharSequence(array, 1, 3, false);
+        assertEquals("2a80ff", lowerCaseSequence.toString());
+        assertEquals("a80f", lowerCaseSequence.subSequence(1, 5).toString());
+        assertEquals("0f", lowerCaseSequence.subSequence(1, 5).subSequence(2, 4).toString());
+        assertEquals("", lowerCaseSequence.subSequence(3, 3).toString());
+
+        // changes in the array are visible
+        array[1] = 0x3C;
+        assertEquals("3c80ff", lowerCaseSequence.toString());
+    }
+
+    @Test
+    public void charSequenceConsumersTest() {
+        HexCharSequence sequence = new HexCharSequence(hexToArray("DE AD BE EF"));
+        assertTrue(Pattern.compile("AD.E").matcher(sequence).find());
+        assertEquals("[DEADBEEF]", new StringBuilder().append('[').append(sequence).append(']').toString());
+        assertTrue("DEADBEEF".contentEquals(sequence));
+        assertEquals(8, sequence.chars().count());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.devtoolbox.util.array.ArrayTools.arrayToHex;
+import static org.devtoolbox.util.array.ArrayTools.hexToArray;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.devtoolbox.util.array.HexDecoder;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link HexDecoder}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class HexDecoderTest {
+
+    @Test
+    public void readerTest() throws IOException {
+        try (HexDecoder decoder = new HexDecoder(new StringReader("FE 05\t4a\r\n00"))) {
+            assertArrayEquals(hexToArray("FE054A00"), decoder.readAllBytes());
+        }
+        try (HexDecoder decoder = new HexDecoder(new StringReader("F E0 5"))) {
+            assertEquals(0xFE, decoder.read());
+            assertEquals(0x05, decoder.read());
+            assertEquals(-1, decoder.read());
+        }
+    }
+
+    @Test
+    public void chunkBoundariesTest() throws IOException {
+        byte[] expected = new byte[20_000];
+        new Random(42).nextBytes(expected);
+        String hexString = arrayToHex(expected).replaceAll("(.{7})", "$1 \n");
+        byte[] asciiHex = hexString.getBytes(StandardCharsets.US_ASCII);
+
+        // the input returns 3 characters at a time, so the digits of a byte are often read in two different chunks
+        try (HexDecoder decoder = new HexDecoder(new SlowInputStream(asciiHex, 3))) {
+            assertArrayEquals(expected, decoder.readAllBytes());
+        }
+        try (HexDecoder decoder = new HexDecoder(Channels.newChannel(new ByteArrayInputStream(asciiHex)))) {
+            assertArrayEquals(expected, decoder.readAllBytes());
+        }
+        try (HexDecoder decoder = new HexDecoder(new StringReader(hexString))) {
+            assertArrayEquals(expected, decoder.readAllBytes());
+        }
+    }
+
+    @Test
+    public void invalidInputTest() throws IOException {
+        try (HexDecoder decoder = new HexDecoder(new StringReader("FE 0G"))) {
+            IOException exception = assertThrows(IOException.class, () -> decoder.readAllBytes());
+            assertEquals("invalid hexadecimal character at position 4", exception.getMessage());
+        }
+        try (HexDecoder decoder = new HexDecoder(new StringReader("FE 0"))) {
+            assertThrows(IOException.class, () -> decoder.readAllBytes());
+        }
+    }
+
+    /**
+     * InputStream returning at most a few bytes per read.
+     */
+    protected static class SlowInputStream extends ByteArrayInputStream {
+
+        private final int maximumReadSize;
+
+        public SlowInputStream(byte[] content, int maximumReadSize) {
+            super(content);
+            this.maximumReadSize = maximumReadSize;
+        }
+
+        @Override
+        public synchronized int read(byte[] buffer, int offset, int length) {
+            return super.read(buffer, offset, Math.min(length, maximumReadSize));
+        }
+    }
+}
\ No newline at end of file
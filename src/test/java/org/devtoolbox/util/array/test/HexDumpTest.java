@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.devtoolbox.util.array.HexDump;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link HexDump}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class HexDumpTest {
+
+    private static final byte[] CONTENT = "Hello, world!\nThis is a test\u0000\u0001\u00FF".getBytes(StandardCharsets.ISO_8859_1);
+
+    // outputs of xxd for the same content
+    private static final String XXD_DUMP = """
+        00000000: 4865 6c6c 6f2c 2077 6f72 6c64 210a 5468  Hello, world!.Th
+        00000010: 6973 2069 7320 6120 7465 7374 0001 ff    is is a test...
+        """;
+
+    private static final String XXD_UPPER_CASE_DUMP = """
+        00000000: 48656C6C 6F2C2077  Hello, w
+        00000008: 6F726C64 210A5468  orld!.Th
+        00000010: 69732069 73206120  is is a\s
+        00000018: 74657374 0001FF    test...
+        """;
+
+    private static final String XXD_NO_GROUP_DUMP = """
+        00000000: 48656c6c6f2c20776f726c64210a546869732069  Hello, world!.This i
+        00000014: 73206120746573740001ff                    s a test...
+        """;
+
+    @Test
+    public void writeTest() throws IOException {
+        assertEquals(XXD_DUMP, HexDump.XXD.toString(CONTENT));
+        assertEquals(XXD_UPPER_CASE_DUMP, new HexDump(8, 4, true, true).toString(CONTENT));
+        assertEquals(XXD_NO_GROUP_DUMP, new HexDump(20, 0, true, false).toString(CONTENT));
+
+        assertEquals("""
+            00000000: 48 65 6c
+            00000003: 6c
+            """, new HexDump(3, 1, false, false).toString(new byte[] { 'H', 'e', 'l', 'l' }));
+
+        StringWriter writer = new StringWriter();
+        HexDump.XXD.write(new ByteArrayInputStream(CONTENT), writer);
+        assertEquals(XXD_DUMP, writer.toString());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        HexDump.XXD.write(CONTENT, 0, CONTENT.length, output);
+        assertEquals(XXD_DUMP, output.toString(StandardCharsets.US_ASCII));
+
+        assertEquals("", HexDump.XXD.toString(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> new HexDump(0, 2, true, true));
+    }
+
+    @Test
+    public void largeOffsetsTest() throws IOException {
+        byte[] content = new byte[0x10_0000 + 1];
+        StringWriter writer = new StringWriter();
+        new HexDump(0x10_0000, 0, false, false).write(new ByteArrayInputStream(content), writer);
+        String dump = writer.toString();
+        assertEquals("00100000: 00\n", dump.substring(dump.lastIndexOf('\n', dump.length() - 2) + 1));
+    }
+
+    @Test
+    public void parseTest() throws IOException {
+        assertArrayEquals(CONTENT, HexDump.parse(XXD_DUMP));
+        assertArrayEquals(CONTENT, HexDump.parse(XXD_UPPER_CASE_DUMP));
+        assertArrayEquals(CONTENT, HexDump.parse(XXD_NO_GROUP_DUMP.replace("\n", "\r\n")));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        HexDump.parse(new StringReader(XXD_DUMP), output);
+        assertArrayEquals(CONTENT, output.toByteArray());
+
+        byte[] content = new byte[10_000];
+        new Random(42).nextBytes(content);
+        assertArrayEquals(content, HexDump.parse(new HexDump(13, 3, true, true).toString(content)));
+        assertArrayEquals(content, HexDump.parse(new HexDump(7, 2, false, false).toString(content)));
+
+        assertThrows(NumberFormatException.class, () -> HexDump.parse("00000000: 4865 6x6c  Hello"));
+        assertThrows(NumberFormatException.class, () -> HexDump.parse("00000000: 4865 6c6  Hello"));
+        IOException exception = assertThrows(IOException.class, () -> HexDump.parse(new StringReader("00: 48\n01: 4g"), output));
+        assertEquals("invalid dump at line 2 : invalid hexadecimal character 'g' at index 5", exception.getMessage());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.devtoolbox.util.array.ArrayTools.arrayToHex;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.util.Random;
+
+import org.devtoolbox.util.array.HexEncoder;
+import org.devtoolbox.util.array.test.HexDecoderTest.SlowInputStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link HexEncoder}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class HexEncoderTest {
+
+    @Test
+    public void encodeTest() throws IOException {
+        byte[] array = new byte[20_000];
+        new Random(42).nextBytes(array);
+
+        try (HexEncoder encoder = new HexEncoder(new SlowInputStream(array, 3), true)) {
+            StringWriter writer = new StringWriter();
+            encoder.transferTo(writer);
+            assertEquals(arrayToHex(array), writer.toString());
+        }
+        try (HexEncoder encoder = new HexEncoder(Channels.newChannel(new ByteArrayInputStream(array)), false)) {
+            StringWriter writer = new StringWriter();
+            encoder.transferTo(writer);
+            assertEquals(arrayToHex(array, false), writer.toString());
+        }
+    }
+
+    @Test
+    public void oddReadSizeTest() throws IOException {
+        try (HexEncoder encoder = new HexEncoder(new ByteArrayInputStream(new byte[] { 0x12, (byte) 0xAB, 0x3C }), true)) {
+            char[] buffer = new char[3];
+            assertEquals(3, encoder.read(buffer, 0, 3));
+            assertEquals("12A", new String(buffer));
+            assertEquals('B', encoder.read());
+            assertEquals(1, encoder.read(buffer, 0, 1));
+            assertEquals('3', buffer[0]);
+            assertEquals(1, encoder.read(buffer, 0, 3));
+            assertEquals('C', buffer[0]);
+            assertEquals(-1, encoder.read(buffer, 0, 3));
+            assertEquals(-1, encoder.read());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.devtoolbox.util.array.ArrayTools.arrayToHex;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.devtoolbox.util.array.HexFiles;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * JUnit tests for {@link HexFiles}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class HexFilesTest {
+
+    @TempDir
+    protected Path directory;
+
+    @Test
+    public void encodeDecodeTest() throws IOException {
+        // large enough to use several windows
+        byte[] content = new byte[6_000_000];
+        new Random(42).nextBytes(content);
+        Path binaryFile = Files.write(directory.resolve("content.bin"), content);
+        Path hexFile = directory.resolve("content.hex");
+        Path decodedFile = directory.resolve("decoded.bin");
+
+        HexFiles.encode(binaryFile, hexFile, false);
+        assertEquals(arrayToHex(content, false), Files.readString(hexFile, StandardCharsets.US_ASCII));
+
+        HexFiles.decode(hexFile, decodedFile);
+        assertArrayEquals(content, Files.readAllBytes(decodedFile));
+    }
+
+    @Test
+    public void decodeWithWhitespacesTest() throws IOException {
+        byte[] content = new byte[6_000_000];
+        new Random(42).nextBytes(content);
+        // odd number of digits, and lines of odd length so that bytes are split between windows
+        content[0] &= 0x0F;
+        String hexString = arrayToHex(content).substring(1).replaceAll("(.{61})", "$1\r\n");
+        Path hexFile = Files.writeString(directory.resolve("content.hex"), hexString, StandardCharsets.US_ASCII);
+        Path decodedFile = directory.resolve("decoded.bin");
+
+        HexFiles.decode(hexFile, decodedFile);
+        assertArrayEquals(content, Files.readAllBytes(decodedFile));
+    }
+
+    @Test
+    public void emptyAndInvalidTest() throws IOException {
+        Path emptyFile = Files.write(directory.resolve("empty"), new byte[0]);
+        Path decodedFile = directory.resolve("decoded.bin");
+        HexFiles.decode(emptyFile, decodedFile);
+        assertEquals(0, Files.size(decodedFile));
+        HexFiles.encode(emptyFile, decodedFile, true);
+        assertEquals(0, Files.size(decodedFile));
+
+        Path invalidFile = Files.writeString(directory.resolve("invalid.hex"), "FE 05 4x", StandardCharsets.US_ASCII);
+        IOException exception = assertThrows(IOException.class, () -> HexFiles.decode(invalidFile, decodedFile));
+        assertEquals("invalid hexadecimal character at position 7", exception.getMessage());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2023 dev-toolbox.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE
+ * USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.devtoolbox.util.array.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.devtoolbox.util.array.ByteHashes;
+import org.devtoolbox.util.array.XxHash64;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit tests for {@link XxHash64}.
+ *
+ * @author Arnaud Lecollaire
+ */
+public class XxHash64Test {
+
+    @Test
+    public void updateTest() {
+        byte[] array = new byte[500];
+        new Random(500).nextBytes(array);
+        long expected = ByteHashes.xxHash64(array, 0, array.length, 17);
+        Random random = new Random(0);
+        for (int attempt = 0; attempt < 50; attempt++) {
+            XxHash64 hash = new XxHash64(17);
+            int index = 0;
+            while (index < array.length) {
+                int length = Math.min(random.nextInt(70), array.length - index);
+                if (length == 0) {
+                    hash.update(array[index++]);
+                } else {
+                    hash.update(array, index, length);
+                    index += length;
+                }
+            }
+            assertEquals(expected, hash.getValue());
+        }
+    }
+
+    @Test
+    public void resetTest() {
+        XxHash64 hash = new XxHash64();
+        assertEquals(0xEF46DB3751D8E999L, hash.getValue());
+        hash.update(new byte[100], 0, 100);
+        hash.reset();
+        hash.update(ByteBuffer.wrap(new byte[] { 'a', 'b', 'c' }));
+        assertEquals(0x44BC2CF5AD770999L, hash.getValue());
+        // getValue does not modify the state
+        assertEquals(0x44BC2CF5AD770999L, hash.getValue());
+    }
+}
\ No newline at end of file